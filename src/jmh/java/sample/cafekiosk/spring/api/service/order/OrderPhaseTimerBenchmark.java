@@ -0,0 +1,74 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.FIND_PRODUCTS;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link OrderPhaseTimer} 가 단계 하나에 더하는 비용을 측정한다.
+ * <p>
+ * 같은 작업을 그대로 호출(baseline), 측정을 끈 채로 호출(disabled), Timer 와 JFR 이벤트를 남기며 호출(enabled)하고
+ * enabled - baseline 이 단계당 오버헤드다. work 가 0 이면 순수 오버헤드, 1000 이면 짧은 단계에 대한 상대 비용을 본다.
+ * JFR 녹화 중일 때의 비용은 -PjmhJfr 를 붙여 한 번 더 실행해서 비교한다.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=OrderPhaseTimerBenchmark        # build/results/jmh/results.json
+ * ./gradlew jmh -PjmhIncludes=OrderPhaseTimerBenchmark -PjmhJfr # build/results/jmh/results-jfr.json
+ * </pre>
+ * 두 결과 모두 work=0 의 enabled - baseline(단계당 ns)과 gc.alloc.rate.norm(단계당 할당량)을 비교한다.
+ * cafekiosk.order.metrics.enabled 기본값을 바꾸려면 이 측정값을 근거로 남긴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class OrderPhaseTimerBenchmark {
+
+  @Param({"0", "1000"})
+  private int work;
+
+  private OrderPhaseTimer enabledTimer;
+  private OrderPhaseTimer disabledTimer;
+
+  @Setup
+  public void setUp() {
+    enabledTimer = new OrderPhaseTimer(new SimpleMeterRegistry(), true);
+    disabledTimer = new OrderPhaseTimer(new SimpleMeterRegistry(), false);
+  }
+
+  @Benchmark
+  public long baseline() {
+    return phase();
+  }
+
+  @Benchmark
+  public long disabled() {
+    return disabledTimer.record(FIND_PRODUCTS, this::phase);
+  }
+
+  @Benchmark
+  public long enabled() {
+    return enabledTimer.record(FIND_PRODUCTS, this::phase);
+  }
+
+  private long phase() {
+    Blackhole.consumeCPU(work);
+    return work;
+  }
+}
@@ -0,0 +1,98 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCatalog;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantityMap;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * createOrder 경로 중 메모리에서만 일어나는 작업(재고 수량 집계, 응답 변환)을 측정한다.
+ * <p>
+ * 여러 스레드에서 동시에 실행해도 읽기만 하는 카탈로그 외에는 공유 상태가 없으므로 스레드 수에 비례해 처리량이 늘어야 한다.
+ * 수량 집계는 상품번호 문자열을 키로 boxing 하던 방식과 createOrder 가 실제로 호출하는
+ * {@link OrderService#countStockQuantities} 를 같이 측정하고,
+ * gc 프로파일러의 gc.alloc.rate.norm(B/op) 으로 주문 한 건당 할당량을 비교한다.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=OrderServiceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+  @Param({"4", "32"})
+  private int productCount;
+
+  private List<Product> products;
+  private List<String> stockProductNumbers;
+  private ProductCatalog productCatalog;
+  private Order order;
+
+  @Setup
+  public void setUp() {
+    products = new ArrayList<>(productCount);
+    for (int i = 0; i < productCount; i++) {
+      products.add(Product.builder()
+          .productNumber(String.format("%03d", i % 4 + 1))
+          .type(ProductType.BOTTLE)
+          .sellingStatus(ProductSellingStatus.SELLING)
+          .name("메뉴 이름")
+          .price(1000)
+          .build());
+    }
+
+    stockProductNumbers = products.stream()
+        .map(Product::getProductNumber)
+        .toList();
+    // 카탈로그는 dense id 만 쓰므로 저장소 없이 만들고, 측정 전에 dense id 를 미리 붙여 둔다.
+    productCatalog = new ProductCatalog(null, 100, Duration.ofHours(1), new SimpleMeterRegistry());
+    stockProductNumbers.forEach(productCatalog::getDenseId);
+    order = Order.create(products, LocalDateTime.now());
+  }
+
+  // 이전 방식: groupingBy + summingInt 로 상품번호별 Integer 를 만든다.
+  @Benchmark
+  public Map<String, Integer> countWithBoxedMap() {
+    return stockProductNumbers.stream()
+        .collect(Collectors.groupingBy(p -> p, Collectors.summingInt(p -> 1)));
+  }
+
+  // createOrder 와 같은 메서드로 세고, 그 결과가 그대로 StockService 에 넘어간다.
+  @Benchmark
+  public ProductQuantityMap countWithDenseIds() {
+    return OrderService.countStockQuantities(products, productCatalog);
+  }
+
+  @Benchmark
+  public OrderResponse createOrderResponse() {
+    return OrderResponse.of(order);
+  }
+}
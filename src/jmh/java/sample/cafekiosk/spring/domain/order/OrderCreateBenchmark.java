@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 주문 생성 시 DB 와 무관하게 메모리에서만 일어나는 작업(주문상품 묶기, 총 금액 계산)을 측정한다.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=OrderCreateBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+  // 주문 한 건의 상품 수 / 그 중 서로 다른 상품번호 수
+  @Param({"4", "32"})
+  private int productCount;
+
+  @Param({"2", "16"})
+  private int distinctCount;
+
+  private List<Product> products;
+  private LocalDateTime registeredDateTime;
+
+  @Setup
+  public void setUp() {
+    products = new ArrayList<>(productCount);
+    for (int i = 0; i < productCount; i++) {
+      products.add(Product.builder()
+          .productNumber(String.format("%03d", i % distinctCount + 1))
+          .type(ProductType.BOTTLE)
+          .sellingStatus(ProductSellingStatus.SELLING)
+          .name("메뉴 이름")
+          .price(1000 + i % distinctCount * 500)
+          .build());
+    }
+    registeredDateTime = LocalDateTime.now();
+  }
+
+  @Benchmark
+  public Order create() {
+    return Order.create(products, registeredDateTime);
+  }
+
+  @Benchmark
+  public int calculateTotalPrice() {
+    return Order.calculateTotalPrice(products);
+  }
+}
@@ -1,5 +1,6 @@
 package sample.cafekiosk.spring.api;
 
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,4 +19,14 @@ public class ApiControllerAdvice {
         null
     );
   }
+
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ApiResponse<Object> rejectedExecutionException(RejectedExecutionException e) {
+    return ApiResponse.of(
+        HttpStatus.SERVICE_UNAVAILABLE,
+        e.getMessage(),
+        null
+    );
+  }
 }
@@ -3,13 +3,18 @@ package sample.cafekiosk.spring.api.controller.order;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchItemResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
 
 @RestController
@@ -19,9 +24,38 @@ public class OrderController {
   private final OrderService orderService;
 
   @PostMapping("/api/v1/orders/new")
-  public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request) {
+  public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
     LocalDateTime registeredDateTime = LocalDateTime.now();
 
-    return ApiResponse.ok(orderService.createOrder(request.toServiceRequest(), registeredDateTime));
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return ApiResponse.ok(orderService.createOrder(request.toServiceRequest(), registeredDateTime));
+    }
+
+    return ApiResponse.ok(
+        orderService.createOrder(request.toServiceRequest(), registeredDateTime, idempotencyKey));
+  }
+
+  @PostMapping("/api/v1/orders/batch")
+  public ApiResponse<List<OrderBatchItemResponse>> createOrders(
+      @Valid @RequestBody OrderBatchCreateRequest request) {
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    return ApiResponse.ok(orderService.createOrders(request.toServiceRequests(), registeredDateTime));
+  }
+
+  @PostMapping("/api/v1/orders/{orderId}/payment")
+  public ApiResponse<OrderResponse> completePayment(@PathVariable Long orderId) {
+    return ApiResponse.ok(orderService.completePayment(orderId));
+  }
+
+  @PostMapping("/api/v1/orders/{orderId}/payment-failure")
+  public ApiResponse<OrderResponse> failPayment(@PathVariable Long orderId) {
+    return ApiResponse.ok(orderService.failPayment(orderId));
+  }
+
+  @PostMapping("/api/v1/orders/{orderId}/cancel")
+  public ApiResponse<OrderResponse> cancelOrder(@PathVariable Long orderId) {
+    return ApiResponse.ok(orderService.cancelOrder(orderId));
   }
 }
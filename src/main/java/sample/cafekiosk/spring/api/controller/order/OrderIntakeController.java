@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderIntakeService;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeResponse;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cafekiosk.order.intake", name = "enabled", havingValue = "true")
+public class OrderIntakeController {
+
+  private final OrderIntakeService orderIntakeService;
+
+  @PostMapping("/api/v1/orders/async")
+  public ResponseEntity<ApiResponse<OrderIntakeResponse>> acceptOrder(
+      @Valid @RequestBody OrderCreateRequest request) {
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    OrderIntakeResponse response = orderIntakeService.accept(request.toServiceRequest(),
+        registeredDateTime);
+
+    return ResponseEntity
+        .accepted()
+        .location(URI.create("/api/v1/orders/async/" + response.getTicketId()))
+        .body(ApiResponse.of(HttpStatus.ACCEPTED, response));
+  }
+
+  @GetMapping("/api/v1/orders/async/{ticketId}")
+  public ResponseEntity<ApiResponse<OrderIntakeResponse>> getOrderIntake(
+      @PathVariable String ticketId) {
+    return orderIntakeService.getResult(ticketId)
+        .map(response -> ResponseEntity.ok(ApiResponse.ok(response)))
+        .orElseGet(() -> ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.of(HttpStatus.NOT_FOUND, "존재하지 않는 주문 접수 번호입니다.", null)));
+  }
+}
@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+
+@Getter
+@NoArgsConstructor
+public class OrderBatchCreateRequest {
+
+  @Valid
+  @NotEmpty(message = "주문 리스트는 필수입니다.")
+  private List<OrderCreateRequest> orders;
+
+  @Builder
+  private OrderBatchCreateRequest(List<OrderCreateRequest> orders) {
+    this.orders = orders;
+  }
+
+  public List<OrderCreateServiceRequest> toServiceRequests() {
+    return orders.stream()
+        .map(OrderCreateRequest::toServiceRequest)
+        .toList();
+  }
+}
@@ -1,22 +1,39 @@
 package sample.cafekiosk.spring.api.controller.product;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSellingStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsSnapshot;
 
 @RestController
 @RequiredArgsConstructor
 public class ProductController {
 
   private final ProductService productService;
+  private final ProductImportService productImportService;
 
   @PostMapping("/api/v1/product/new")
   public ApiResponse<ProductResponse> createProduct(
@@ -25,11 +42,110 @@ public class ProductController {
     return ApiResponse.of(productService.createProduct(request.toServiceRequest()));
   }
 
+  /**
+   * 미리 직렬화해 둔 응답을 그대로 내려준다. If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 응답한다.
+   * 압축 여부가 Accept-Encoding 에 따라 달라지므로 어떤 응답이든 Vary 를 붙인다.
+   */
   @GetMapping("/api/v1/products/selling")
-  private ApiResponse<List<ProductResponse>> getSellingProducts() {
-    return ApiResponse.ok(productService.getSellingProducts());
+  public ResponseEntity<byte[]> getSellingProducts(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    SellingProductsSnapshot snapshot = productService.getSellingProductsSnapshot();
+
+    if (snapshot.matches(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(snapshot.getEtag())
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .eTag(snapshot.getEtag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    if (acceptsGzip(acceptEncoding)) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+          .body(snapshot.getGzipBody());
+    }
+    return response.body(snapshot.getBody());
   }
 
+  /**
+   * Accept-Encoding 의 q 값까지 보고 gzip 을 받을 수 있는지 판단한다. gzip;q=0 은 거절이고, gzip 이 없으면 * 의 q 값을 따른다.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
 
-}
+    Double gzipQuality = null;
+    Double wildcardQuality = null;
+    for (String token : acceptEncoding.split(",")) {
+      String[] parts = token.split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      if (coding.equals("gzip") || coding.equals("x-gzip")) {
+        gzipQuality = quality(parts);
+      } else if (coding.equals("*")) {
+        wildcardQuality = quality(parts);
+      }
+    }
+
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    }
+    return wildcardQuality != null && wildcardQuality > 0;
+  }
+
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          // 잘못된 q 값은 받지 않는다는 뜻으로 본다.
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  @GetMapping("/api/v1/products/selling/page")
+  public ApiResponse<ProductPageResponse> getSellingProductsPage(
+      @RequestParam(required = false) Long cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    return ApiResponse.ok(productService.getSellingProductsPage(cursor, size));
+  }
+
+  /**
+   * 판매 상품 전체를 조회 결과 그대로 흘려보낸다. 응답 형식은 /api/v1/products/selling 과 같다.
+   */
+  @GetMapping("/api/v1/products/selling/stream")
+  public ResponseEntity<StreamingResponseBody> streamSellingProducts() {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(productService::writeSellingProducts);
+  }
+
+  /**
+   * CSV 본문을 받은 만큼씩 읽어서 상품을 일괄 등록한다. 잘못된 행은 건너뛰고 결과에 행 번호와 사유를 담는다.
+   */
+  @PostMapping(value = "/api/v1/products/import", consumes = "text/csv")
+  public ApiResponse<ProductImportResponse> importProducts(InputStream inputStream) throws IOException {
+    return ApiResponse.ok(productImportService.importProducts(inputStream));
+  }
 
+  @PostMapping("/api/v1/products/{productNumber}/selling-status")
+  public ApiResponse<ProductResponse> changeSellingStatus(@PathVariable String productNumber,
+      @Valid @RequestBody ProductSellingStatusChangeRequest request) {
+    return ApiResponse.ok(productService.changeSellingStatus(productNumber, request.getSellingStatus()));
+  }
+
+  @GetMapping("/api/v1/products/search")
+  public ApiResponse<List<ProductResponse>> searchProducts(@RequestParam("q") String query,
+      @RequestParam(defaultValue = "20") int limit) {
+    return ApiResponse.ok(productService.searchProducts(query, limit));
+  }
+}
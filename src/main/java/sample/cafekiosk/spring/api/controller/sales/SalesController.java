@@ -0,0 +1,46 @@
+package sample.cafekiosk.spring.api.controller.sales;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.sales.BestSellerTracker;
+import sample.cafekiosk.spring.api.service.sales.BestSellerTracker.Window;
+import sample.cafekiosk.spring.api.service.sales.LiveSalesCounter;
+import sample.cafekiosk.spring.api.service.sales.SalesReportService;
+import sample.cafekiosk.spring.api.service.sales.response.BestSellerResponse;
+import sample.cafekiosk.spring.api.service.sales.response.LiveSalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.SalesReportResponse;
+
+@RestController
+@RequiredArgsConstructor
+public class SalesController {
+
+  private final LiveSalesCounter liveSalesCounter;
+  private final SalesReportService salesReportService;
+  private final BestSellerTracker bestSellerTracker;
+
+  @GetMapping("/api/v1/stats/live")
+  public ApiResponse<LiveSalesResponse> getLiveSales() {
+    return ApiResponse.ok(liveSalesCounter.getLiveSales());
+  }
+
+  @GetMapping("/api/v1/stats/best-sellers")
+  public ApiResponse<List<BestSellerResponse>> getBestSellers(
+      @RequestParam(defaultValue = "HOUR") Window window,
+      @RequestParam(defaultValue = "10") int limit) {
+    return ApiResponse.ok(bestSellerTracker.getBestSellers(window, limit));
+  }
+
+  @GetMapping("/api/v1/stats/report")
+  public ApiResponse<SalesReportResponse> getSalesReport(
+      @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate startDate,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate endDate) {
+    return ApiResponse.ok(salesReportService.getSalesReport(startDate, endDate));
+  }
+}
@@ -0,0 +1,169 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import com.google.common.base.Ascii;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.client.MailSendClient;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailSendHistoryRepository;
+
+/**
+ * outbox 에 쌓인 메일을 백그라운드에서 전송한다.
+ * <p>
+ * 한 번에 batch-size 만큼을 SKIP LOCKED 로 선점해서 workers 개의 스레드로 보내고, 성공하면 전송 이력을 남긴다.
+ * 실패한 메일은 지수 백오프에 jitter 를 더한 시각에 다시 보내고, max-attempts 번 실패하면 FAILED 로 남긴다.
+ * 선점은 짧은 트랜잭션에서 끝내므로 전송 중에는 DB 커넥션과 행 잠금을 잡고 있지 않는다.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+  private static final int ERROR_MAX_LENGTH = 255;
+
+  private final MailOutboxRepository mailOutboxRepository;
+  private final MailSendHistoryRepository mailSendHistoryRepository;
+  private final MailSendClient mailSendClient;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService workers;
+  private final boolean scheduled;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration lease;
+
+  public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+      MailSendHistoryRepository mailSendHistoryRepository, MailSendClient mailSendClient,
+      PlatformTransactionManager transactionManager,
+      @Value("${cafekiosk.mail.outbox.scheduled:true}") boolean scheduled,
+      @Value("${cafekiosk.mail.outbox.batch-size:50}") int batchSize,
+      @Value("${cafekiosk.mail.outbox.workers:4}") int workerCount,
+      @Value("${cafekiosk.mail.outbox.max-attempts:5}") int maxAttempts,
+      @Value("${cafekiosk.mail.outbox.initial-backoff:1s}") Duration initialBackoff,
+      @Value("${cafekiosk.mail.outbox.max-backoff:5m}") Duration maxBackoff,
+      @Value("${cafekiosk.mail.outbox.lease:1m}") Duration lease) {
+    this.mailOutboxRepository = mailOutboxRepository;
+    this.mailSendHistoryRepository = mailSendHistoryRepository;
+    this.mailSendClient = mailSendClient;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.workers = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder()
+        .setNameFormat("mail-outbox-%d")
+        .setDaemon(true)
+        .build());
+    this.scheduled = scheduled;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.lease = lease;
+  }
+
+  @Scheduled(fixedDelayString = "${cafekiosk.mail.outbox.poll-interval-ms:1000}")
+  public void poll() {
+    if (!scheduled) {
+      return;
+    }
+
+    try {
+      // 한 묶음을 꽉 채워 가져왔으면 밀려 있는 것으로 보고 바로 다음 묶음을 가져온다.
+      int dispatched;
+      do {
+        dispatched = dispatch(LocalDateTime.now());
+      } while (dispatched == batchSize);
+    } catch (RuntimeException e) {
+      log.error("메일 outbox 전송 실패", e);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    workers.shutdown();
+    workers.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * now 기준으로 보낼 차례가 된 메일을 한 묶음 선점해서 전송하고, 모두 끝날 때까지 기다린다. 선점한 건수를 반환한다.
+   */
+  public int dispatch(LocalDateTime now) {
+    List<MailOutbox> outboxes = transactionTemplate.execute(status -> {
+      List<MailOutbox> claimed = mailOutboxRepository.findAllForClaimBy(now,
+          PageRequest.of(0, batchSize));
+      claimed.forEach(outbox -> outbox.claim(now.plus(lease)));
+      return claimed;
+    });
+
+    if (outboxes.isEmpty()) {
+      return 0;
+    }
+
+    List<Callable<Void>> tasks = outboxes.stream()
+        .<Callable<Void>>map(outbox -> () -> {
+          send(outbox, now);
+          return null;
+        })
+        .toList();
+
+    try {
+      workers.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      // 끝나지 않은 메일은 선점이 만료된 뒤 다시 보낸다.
+      Thread.currentThread().interrupt();
+    }
+    return outboxes.size();
+  }
+
+  /**
+   * attemptCount 번째 실패 뒤 기다릴 시간. initial-backoff 부터 두 배씩 늘리되 max-backoff 를 넘지 않고,
+   * 같은 시각에 실패한 메일들이 한꺼번에 다시 몰리지 않도록 그 절반 ~ 전체 사이에서 무작위로 고른다.
+   */
+  Duration backoffOf(int attemptCount) {
+    long exponential = initialBackoff.toMillis() << Math.min(attemptCount - 1, 30);
+    long delay = Math.min(exponential, maxBackoff.toMillis());
+    long half = delay / 2;
+    return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(delay - half + 1));
+  }
+
+  private void send(MailOutbox outbox, LocalDateTime now) {
+    String error;
+    try {
+      if (mailSendClient.sendEmail(outbox.getFromEmail(), outbox.getToEmail(), outbox.getSubject(),
+          outbox.getContent())) {
+        transactionTemplate.executeWithoutResult(status -> {
+          mailOutboxRepository.findById(outbox.getId()).ifPresent(MailOutbox::sent);
+          mailSendHistoryRepository.save(outbox.toHistory());
+        });
+        return;
+      }
+      error = "메일 전송 결과가 실패입니다.";
+    } catch (RuntimeException e) {
+      log.warn("메일 전송 실패 : outboxId={}, attempt={}", outbox.getId(), outbox.getAttemptCount(), e);
+      error = String.valueOf(e.getMessage());
+    }
+
+    String lastError = Ascii.truncate(error, ERROR_MAX_LENGTH, "...");
+    transactionTemplate.executeWithoutResult(status ->
+        mailOutboxRepository.findById(outbox.getId()).ifPresent(saved -> {
+          if (saved.getAttemptCount() >= maxAttempts) {
+            saved.fail(lastError);
+            return;
+          }
+          saved.retryAt(now.plus(backoffOf(saved.getAttemptCount())), lastError);
+        }));
+  }
+}
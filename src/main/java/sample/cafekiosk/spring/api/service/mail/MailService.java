@@ -1,38 +1,26 @@
 package sample.cafekiosk.spring.api.service.mail;
 
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import sample.cafekiosk.spring.client.MailSendClient;
-import sample.cafekiosk.spring.domain.mail.MailSendHistory;
-import sample.cafekiosk.spring.domain.mail.MailSendHistoryRepository;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
 
 @Service
 @RequiredArgsConstructor
 public class MailService {
 
-  private final MailSendClient mailSendClient;
-  private final MailSendHistoryRepository mailSendHistoryRepository;
-
-  public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
-    boolean result = mailSendClient.sendEmail(fromEmail, toEmail, subject, content);
-
-    if (result) {
-      mailSendHistoryRepository.save(
-          MailSendHistory.builder()
-              .fromEmail(fromEmail)
-              .toEmail(toEmail)
-              .subject(subject)
-              .content(content)
-              .build()
-      );
-
-      mailSendClient.a();
-      mailSendClient.b();
-      mailSendClient.c();
-
-      return true;
-    }
-
-    return false;
+  private final MailOutboxRepository mailOutboxRepository;
+
+  /**
+   * 메일을 바로 보내지 않고 outbox 에 저장한 뒤 outbox id 를 반환한다. 호출한 쪽의 트랜잭션이 있으면 함께 커밋/롤백된다.
+   * 전송과 재시도, 전송 이력 저장은 MailOutboxDispatcher 가 한다.
+   */
+  @Transactional
+  public Long enqueueMail(String fromEmail, String toEmail, String subject, String content) {
+    MailOutbox outbox = mailOutboxRepository.save(
+        MailOutbox.create(fromEmail, toEmail, subject, content, LocalDateTime.now()));
+    return outbox.getId();
   }
 }
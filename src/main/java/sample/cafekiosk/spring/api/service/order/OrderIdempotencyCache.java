@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+
+/**
+ * Idempotency-Key 로 이미 처리된 주문 응답을 보관하는 캐시. 크기와 TTL 로 제한된다.
+ */
+@Component
+public class OrderIdempotencyCache {
+
+  private final Cache<String, OrderResponse> cache;
+
+  public OrderIdempotencyCache(
+      @Value("${cafekiosk.order.idempotency.cache-size:10000}") long cacheSize,
+      @Value("${cafekiosk.order.idempotency.ttl:10m}") Duration ttl) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  public OrderResponse get(String idempotencyKey) {
+    return cache.getIfPresent(idempotencyKey);
+  }
+
+  public void put(String idempotencyKey, OrderResponse orderResponse) {
+    cache.put(idempotencyKey, orderResponse);
+  }
+
+  // 롤백된 주문이 재시도 응답으로 나가지 않도록 커밋 이후에만 캐싱한다.
+  public void putAfterCommit(String idempotencyKey, OrderResponse orderResponse) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(idempotencyKey, orderResponse);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        put(idempotencyKey, orderResponse);
+      }
+    });
+  }
+}
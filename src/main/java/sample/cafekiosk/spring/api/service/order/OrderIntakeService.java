@@ -0,0 +1,191 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchItemResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeResponse;
+
+/**
+ * 주문을 바로 처리하지 않고 고정 크기 대기열에 접수한 뒤, 소비 스레드가 여러 건씩 묶어서 한 트랜잭션으로 생성한다.
+ * <p>
+ * 대기열이 가득 차면 REJECT 는 즉시 거절하고, BLOCK 은 offer-timeout 만큼 기다린 뒤 거절한다.
+ * cafekiosk.order.intake.enabled=true 일 때만 등록된다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "cafekiosk.order.intake", name = "enabled", havingValue = "true")
+public class OrderIntakeService {
+
+  public enum Backpressure {
+    REJECT, BLOCK
+  }
+
+  private final OrderService orderService;
+  private final BlockingQueue<IntakeItem> queue;
+  private final Backpressure backpressure;
+  private final Duration offerTimeout;
+  private final int consumerCount;
+  private final int batchSize;
+  private final Cache<String, OrderIntakeResponse> results;
+  private final List<Thread> consumers = new ArrayList<>();
+
+  private volatile boolean running = true;
+
+  public OrderIntakeService(OrderService orderService,
+      @Value("${cafekiosk.order.intake.capacity:1024}") int capacity,
+      @Value("${cafekiosk.order.intake.backpressure:REJECT}") Backpressure backpressure,
+      @Value("${cafekiosk.order.intake.offer-timeout:100ms}") Duration offerTimeout,
+      @Value("${cafekiosk.order.intake.consumers:2}") int consumerCount,
+      @Value("${cafekiosk.order.intake.batch-size:50}") int batchSize,
+      @Value("${cafekiosk.order.intake.result-ttl:10m}") Duration resultTtl,
+      @Value("${cafekiosk.order.intake.result-cache-size:100000}") long resultCacheSize) {
+    this.orderService = orderService;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.backpressure = backpressure;
+    this.offerTimeout = offerTimeout;
+    this.consumerCount = consumerCount;
+    this.batchSize = batchSize;
+    // 접수가 몰려도 결과 캐시가 힙을 다 쓰지 않도록 TTL 과 함께 건수도 제한한다.
+    this.results = CacheBuilder.newBuilder()
+        .maximumSize(resultCacheSize)
+        .expireAfterWrite(resultTtl)
+        .build();
+  }
+
+  @PostConstruct
+  public void start() {
+    for (int i = 0; i < consumerCount; i++) {
+      Thread consumer = new Thread(this::consume, "order-intake-" + i);
+      consumer.setDaemon(true);
+      consumer.start();
+      consumers.add(consumer);
+    }
+  }
+
+  // 종료 시에는 새 접수를 막고, 이미 접수된 주문은 모두 처리한 뒤 멈춘다.
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    for (Thread consumer : consumers) {
+      consumer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+  }
+
+  public OrderIntakeResponse accept(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+    if (!running) {
+      throw new RejectedExecutionException("주문 접수가 중지되었습니다.");
+    }
+
+    String ticketId = UUID.randomUUID().toString();
+    OrderIntakeResponse pending = OrderIntakeResponse.pending(ticketId);
+    results.put(ticketId, pending);
+
+    if (!offer(new IntakeItem(ticketId, request, registeredDateTime))) {
+      results.invalidate(ticketId);
+      throw new RejectedExecutionException("주문 접수 대기열이 가득 찼습니다.");
+    }
+
+    return pending;
+  }
+
+  public Optional<OrderIntakeResponse> getResult(String ticketId) {
+    return Optional.ofNullable(results.getIfPresent(ticketId));
+  }
+
+  private boolean offer(IntakeItem item) {
+    if (backpressure == Backpressure.REJECT) {
+      return queue.offer(item);
+    }
+
+    try {
+      return queue.offer(item, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void consume() {
+    while (running || !queue.isEmpty()) {
+      try {
+        drain(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("주문 접수 처리 실패", e);
+      }
+    }
+  }
+
+  /**
+   * 대기열에서 최대 batch-size 만큼 꺼내서 처리한다. 처리한 건수를 반환한다.
+   */
+  int drain(long waitMillis) throws InterruptedException {
+    IntakeItem first = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return 0;
+    }
+
+    List<IntakeItem> items = new ArrayList<>(batchSize);
+    items.add(first);
+    queue.drainTo(items, batchSize - 1);
+
+    process(items);
+    return items.size();
+  }
+
+  private void process(List<IntakeItem> items) {
+    List<OrderBatchItemResponse> responses;
+    try {
+      responses = orderService.createOrders(
+          items.stream().map(IntakeItem::request).toList(),
+          items.stream().map(IntakeItem::registeredDateTime).toList());
+    } catch (RuntimeException e) {
+      // 묶음 전체가 실패하면(재고 경합 등) 주문마다 따로 다시 시도한다.
+      log.warn("주문 묶음 처리 실패, 개별 처리로 전환 : {}건", items.size(), e);
+      items.forEach(this::processEach);
+      return;
+    }
+
+    for (int i = 0; i < items.size(); i++) {
+      String ticketId = items.get(i).ticketId();
+      OrderBatchItemResponse response = responses.get(i);
+
+      results.put(ticketId, response.isSuccess()
+          ? OrderIntakeResponse.completed(ticketId, response.getOrder())
+          : OrderIntakeResponse.failed(ticketId, response.getMessage()));
+    }
+  }
+
+  private void processEach(IntakeItem item) {
+    try {
+      results.put(item.ticketId(), OrderIntakeResponse.completed(item.ticketId(),
+          orderService.createOrder(item.request(), item.registeredDateTime())));
+    } catch (RuntimeException e) {
+      results.put(item.ticketId(), OrderIntakeResponse.failed(item.ticketId(), e.getMessage()));
+    }
+  }
+
+  private record IntakeItem(String ticketId, OrderCreateServiceRequest request,
+                            LocalDateTime registeredDateTime) {
+
+  }
+}
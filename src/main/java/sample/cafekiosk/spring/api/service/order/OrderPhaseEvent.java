@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * createOrder 단계 하나의 소요 시간을 남기는 JFR 이벤트. JDK Mission Control 의 Event Browser 에서 단계별로 볼 수 있다.
+ */
+@Name("sample.cafekiosk.OrderCreatePhase")
+@Label("Order Create Phase")
+@Category({"Cafekiosk", "Order"})
+@Description("createOrder 단계별 소요 시간")
+@StackTrace(false)
+class OrderPhaseEvent extends Event {
+
+  @Label("Phase")
+  String phase;
+
+}
@@ -0,0 +1,80 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * createOrder 의 단계별 소요 시간을 Micrometer Timer 와 JFR 이벤트로 남긴다.
+ * <p>
+ * Timer 는 HdrHistogram 기반으로 p50/p99 를 계산하고 히스토그램 버킷도 내보내므로 /actuator/metrics/cafekiosk.order.create.phase 에서
+ * phase 태그별로 조회할 수 있다. JFR 이벤트는 녹화 중이고 임계값을 넘을 때만 기록된다.
+ * cafekiosk.order.metrics.enabled=false 이면 측정 없이 작업만 실행한다.
+ */
+@Component
+public class OrderPhaseTimer {
+
+  public static final String METRIC_NAME = "cafekiosk.order.create.phase";
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Phase {
+    FIND_PRODUCTS("findProducts"),
+    DEDUCT_STOCK("deductStock"),
+    SAVE_ORDER("saveOrder"),
+    CREATE_RESPONSE("createResponse");
+
+    private final String tag;
+  }
+
+  private final boolean enabled;
+  private final Timer[] timers;
+
+  public OrderPhaseTimer(MeterRegistry meterRegistry,
+      @Value("${cafekiosk.order.metrics.enabled:true}") boolean enabled) {
+    this.enabled = enabled;
+    this.timers = Arrays.stream(Phase.values())
+        .map(phase -> Timer.builder(METRIC_NAME)
+            .description("createOrder 단계별 소요 시간")
+            .tag("phase", phase.getTag())
+            .publishPercentiles(0.5, 0.99)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(1_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry))
+        .toArray(Timer[]::new);
+  }
+
+  public <T> T record(Phase phase, Supplier<T> action) {
+    if (!enabled) {
+      return action.get();
+    }
+
+    OrderPhaseEvent event = new OrderPhaseEvent();
+    event.begin();
+    long startNanos = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      timers[phase.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      if (event.shouldCommit()) {
+        event.phase = phase.getTag();
+        event.commit();
+      }
+    }
+  }
+
+  public void run(Phase phase, Runnable action) {
+    record(phase, () -> {
+      action.run();
+      return null;
+    });
+  }
+}
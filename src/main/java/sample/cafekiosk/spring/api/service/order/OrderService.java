@@ -1,22 +1,40 @@
 package sample.cafekiosk.spring.api.service.order;
 
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.CREATE_RESPONSE;
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.DEDUCT_STOCK;
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.FIND_PRODUCTS;
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.SAVE_ORDER;
+
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.reservation.OrderReservationService;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchItemResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCatalog;
+import sample.cafekiosk.spring.api.service.sales.BestSellerTracker;
+import sample.cafekiosk.spring.api.service.sales.LiveSalesCounter;
+import sample.cafekiosk.spring.api.service.sales.SalesAggregateService;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantityMap;
+import sample.cafekiosk.spring.api.service.stock.StockService;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKey;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.product.Product;
-import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
-import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 @Service
 @RequiredArgsConstructor
@@ -24,70 +42,219 @@ import sample.cafekiosk.spring.domain.stock.StockRepository;
 public class OrderService {
 
   private final OrderRepository orderRepository;
-  private final ProductRepository productRepository;
-  private final StockRepository stockRepository;
+  private final ProductCatalog productCatalog;
+  private final StockService stockService;
+  private final OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+  private final OrderIdempotencyCache orderIdempotencyCache;
+  private final OrderReservationService orderReservationService;
+  private final SalesAggregateService salesAggregateService;
+  private final LiveSalesCounter liveSalesCounter;
+  private final BestSellerTracker bestSellerTracker;
+  private final OrderPhaseTimer orderPhaseTimer;
+  private final TransactionTemplate transactionTemplate;
 
   public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
     // 상품번호 받기
     List<String> productNumbers = request.getProductNumbers();
-    List<Product> products = findProductsBy(productNumbers);
+    List<Product> products = orderPhaseTimer.record(FIND_PRODUCTS, () -> findProductsBy(productNumbers));
 
-    deductStockQuantities(products);
+    orderPhaseTimer.run(DEDUCT_STOCK, () -> deductStockQuantities(products));
 
     Order order = Order.create(products, registeredDateTime);
 
-    Order savedOrder = orderRepository.save(order);
-    return OrderResponse.of(savedOrder);
+    Order savedOrder = orderPhaseTimer.record(SAVE_ORDER, () -> orderRepository.save(order));
+    orderReservationService.reserve(savedOrder.getId());
+    liveSalesCounter.recordCreated(savedOrder);
+    bestSellerTracker.record(savedOrder);
+    return orderPhaseTimer.record(CREATE_RESPONSE, () -> OrderResponse.of(savedOrder));
   }
 
-  private void deductStockQuantities(List<Product> products) {
-    // 재고 차감 체크가 필요한 상품들 filter
-    List<String> stockProductNumbers = extractStockProductNumbers(products);
+  /**
+   * Idempotency-Key 가 같은 요청은 한 번만 처리하고, 재시도에는 처음 만든 주문 응답을 그대로 돌려준다.
+   * <p>
+   * 같은 키의 요청이 동시에 들어오면 늦게 커밋하는 쪽은 unique 제약에 걸려 트랜잭션 전체(주문, 재고 차감)가 롤백되고,
+   * 새 트랜잭션에서 먼저 커밋된 주문을 읽어 같은 응답을 돌려준다. 그래서 이 메서드는 트랜잭션을 직접 연다.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime,
+      String idempotencyKey) {
+    OrderResponse cachedResponse = orderIdempotencyCache.get(idempotencyKey);
+    if (cachedResponse != null) {
+      return cachedResponse;
+    }
+
+    try {
+      return transactionTemplate.execute(status -> findOrderResponseBy(idempotencyKey)
+          .orElseGet(() -> createOrderWithIdempotencyKey(request, registeredDateTime, idempotencyKey)));
+    } catch (DataIntegrityViolationException e) {
+      return transactionTemplate.execute(status -> findOrderResponseBy(idempotencyKey))
+          .orElseThrow(() -> new IllegalStateException("이미 처리 중인 주문 요청입니다.", e));
+    }
+  }
 
-    // 재고 엔티티 조회
-    Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
+  private Optional<OrderResponse> findOrderResponseBy(String idempotencyKey) {
+    return orderIdempotencyKeyRepository.findByIdempotencyKey(idempotencyKey)
+        .map(storedKey -> {
+          Order order = orderRepository.findById(storedKey.getOrderId())
+              .orElseThrow(() -> new IllegalStateException("주문이 존재하지 않습니다."));
+          OrderResponse orderResponse = OrderResponse.of(order);
+          orderIdempotencyCache.put(idempotencyKey, orderResponse);
+          return orderResponse;
+        });
+  }
 
-    // 상품별 counting
-    Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+  private OrderResponse createOrderWithIdempotencyKey(OrderCreateServiceRequest request,
+      LocalDateTime registeredDateTime, String idempotencyKey) {
+    OrderResponse orderResponse = createOrder(request, registeredDateTime);
 
-    // 재고 차감 시도
-    for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-      Stock stock = stockMap.get(stockProductNumber);
-      int quantity = productCountingMap.get(stockProductNumber).intValue();
+    // 동시에 들어온 같은 키의 요청은 여기서 unique 제약에 걸린다.
+    orderIdempotencyKeyRepository.saveAndFlush(
+        OrderIdempotencyKey.create(idempotencyKey, orderResponse.getId()));
+
+    orderIdempotencyCache.putAfterCommit(idempotencyKey, orderResponse);
+    return orderResponse;
+  }
 
-      if (stock.isQuantityLessThan(quantity)) {
-        throw new IllegalStateException("재고가 부족한 상품이 있습니다.");
+  /**
+   * 여러 주문을 한 트랜잭션에서 생성한다.
+   * <p>
+   * 상품은 전체 주문에 대해 한 번만 조회하고, 재고는 StockService 가 주문별로 판정해서 성공한 주문들만 차감한다.
+   * 상품이 없거나 재고가 부족한 주문은 동시에 다른 주문이 재고를 가져가더라도 해당 주문만 실패로 응답한다.
+   */
+  public List<OrderBatchItemResponse> createOrders(List<OrderCreateServiceRequest> requests,
+      LocalDateTime registeredDateTime) {
+    return createOrders(requests, Collections.nCopies(requests.size(), registeredDateTime));
+  }
+
+  /**
+   * 주문마다 등록 시간이 다른 경우(비동기 접수 등) 사용한다.
+   */
+  public List<OrderBatchItemResponse> createOrders(List<OrderCreateServiceRequest> requests,
+      List<LocalDateTime> registeredDateTimes) {
+    // 전체 주문의 상품번호로 상품 한 번 조회
+    Map<String, Product> productMap = createProductMapBy(requests.stream()
+        .flatMap(request -> request.getProductNumbers().stream())
+        .distinct()
+        .toList());
+
+    OrderBatchItemResponse[] results = new OrderBatchItemResponse[requests.size()];
+    List<Integer> candidateIndexes = new ArrayList<>();
+    List<List<Product>> candidateProducts = new ArrayList<>();
+    List<ProductQuantityMap> candidateQuantities = new ArrayList<>();
+
+    for (int index = 0; index < requests.size(); index++) {
+      List<String> productNumbers = requests.get(index).getProductNumbers();
+
+      if (!productMap.keySet().containsAll(productNumbers)) {
+        results[index] = OrderBatchItemResponse.fail(index, "존재하지 않는 상품이 있습니다.");
+        continue;
       }
 
-      stock.deductQuantity(quantity);
+      List<Product> products = productNumbers.stream()
+          .map(productMap::get)
+          .toList();
+      candidateIndexes.add(index);
+      candidateProducts.add(products);
+      candidateQuantities.add(countStockQuantities(products, productCatalog));
     }
+
+    // 재고는 주문별로 판정하고, 성공한 주문들의 합계로 한 번에 차감
+    boolean[] deducted = stockService.deductQuantitiesEach(candidateQuantities);
+
+    Map<Integer, Order> orderMap = new LinkedHashMap<>();
+    for (int candidate = 0; candidate < candidateIndexes.size(); candidate++) {
+      int index = candidateIndexes.get(candidate);
+      if (!deducted[candidate]) {
+        results[index] = OrderBatchItemResponse.fail(index, "재고가 부족한 상품이 있습니다.");
+        continue;
+      }
+      orderMap.put(index, Order.create(candidateProducts.get(candidate), registeredDateTimes.get(index)));
+    }
+
+    orderRepository.saveAll(orderMap.values());
+    orderMap.forEach((index, order) -> {
+      orderReservationService.reserve(order.getId());
+      liveSalesCounter.recordCreated(order);
+      bestSellerTracker.record(order);
+      results[index] = OrderBatchItemResponse.success(index, OrderResponse.of(order));
+    });
+
+    return List.of(results);
   }
 
-  private static Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-    return stockProductNumbers.stream()
-        .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+  /**
+   * 결제가 완료되면 재고 예약을 확정하고 매출 집계에 더한다.
+   */
+  public OrderResponse completePayment(Long orderId) {
+    Order order = findOrderForUpdate(orderId);
+    order.completePayment();
+    orderReservationService.confirm(orderId);
+    salesAggregateService.record(order);
+    liveSalesCounter.recordPaid(order);
+    return OrderResponse.of(order);
   }
 
-  private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-    List<Stock> stocks = stockRepository
-        .findAllByProductNumberIn(stockProductNumbers);
-    return stocks.stream()
-        .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+  /**
+   * 결제에 실패한 주문은 예약했던 재고를 되돌린다.
+   */
+  public OrderResponse failPayment(Long orderId) {
+    Order order = findOrderForUpdate(orderId);
+    order.failPayment();
+    orderReservationService.release(List.of(order));
+    liveSalesCounter.recordCanceled(order);
+    return OrderResponse.of(order);
   }
 
-  private static List<String> extractStockProductNumbers(List<Product> products) {
-    return products.stream()
-        .filter(product -> ProductType.containsStockType(product.getType()))
-        .map(Product::getProductNumber)
-        .toList();
+  /**
+   * 결제 전에 취소한 주문은 예약했던 재고를 되돌린다.
+   */
+  public OrderResponse cancelOrder(Long orderId) {
+    Order order = findOrderForUpdate(orderId);
+    order.cancel();
+    orderReservationService.release(List.of(order));
+    liveSalesCounter.recordCanceled(order);
+    return OrderResponse.of(order);
+  }
+
+  // 예약 만료 처리와 동시에 상태가 바뀌지 않도록 lock 을 잡고 조회한다.
+  private Order findOrderForUpdate(Long orderId) {
+    return orderRepository.findAllForUpdateByIdIn(List.of(orderId)).stream()
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("주문이 존재하지 않습니다."));
+  }
+
+  private void deductStockQuantities(List<Product> products) {
+    // 재고 차감 체크가 필요한 상품별 counting
+    ProductQuantityMap quantities = countStockQuantities(products, productCatalog);
+
+    // 재고 차감 시도
+    if (!quantities.isEmpty()) {
+      stockService.deductQuantities(quantities);
+    }
+  }
+
+  // 상품번호 문자열 대신 카탈로그의 dense id 로 수량을 센다. OrderServiceBenchmark 도 이 메서드를 그대로 측정한다.
+  static ProductQuantityMap countStockQuantities(List<Product> products, ProductCatalog productCatalog) {
+    ProductQuantityMap quantities = new ProductQuantityMap(products.size());
+    for (Product product : products) {
+      if (ProductType.containsStockType(product.getType())) {
+        quantities.add(productCatalog.getDenseId(product.getProductNumber()),
+            product.getProductNumber(), 1);
+      }
+    }
+    return quantities;
   }
 
   private List<Product> findProductsBy(List<String> productNumbers) {
-    List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
-    Map<String, Product> productMap = products.stream()
-        .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    Map<String, Product> productMap = createProductMapBy(productNumbers);
     return productNumbers.stream()
         .map(productMap::get)
         .toList();
   }
+
+  private Map<String, Product> createProductMapBy(List<String> productNumbers) {
+    List<Product> products = productCatalog.findAllByProductNumberIn(productNumbers);
+    return products.stream()
+        .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+  }
 }
@@ -4,43 +4,80 @@ import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
-import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.api.service.order.response.ProductSalesResponse;
+import sample.cafekiosk.spring.api.service.order.response.SalesSummaryResponse;
+import sample.cafekiosk.spring.api.service.sales.SalesAggregateService;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailySales;
 
 @Service
 @RequiredArgsConstructor
 public class OrderStaticsService {
 
-  private final OrderRepository orderRepository;
+  // 메뉴 전체를 나열하면 메일이 길어지므로 매출 상위 상품만 적고 나머지는 개수만 적는다.
+  private static final int MAIL_PRODUCT_SALES_LIMIT = 10;
+
+  private final SalesAggregateService salesAggregateService;
+  private final OrderProductRepository orderProductRepository;
   private final MailService mailService;
 
-  public boolean sendOrderStatistMail(LocalDate orderDate, String email) {
-    // 해당 일자에 결제완료된 주문들을 가져와서
-    List<Order> orders = orderRepository.findOrdersBy(
-        orderDate.atStartOfDay(),
-        orderDate.plusDays(1).atStartOfDay(),
-        PAYMENT_COMPLETED
-    );
-
-    // 총 매출 합계를 계산하고
-    int totalAmount = orders.stream()
-        .mapToInt(Order::getTotalPrice)
-        .sum();
-
-    // 메일 전송
-    boolean result = mailService.sendMail("no-reply@cafeKiosk.com",
+  /**
+   * 매출 통계 메일을 outbox 에 저장하고 outbox id 를 바로 반환한다. 전송은 MailOutboxDispatcher 가 백그라운드에서 한다.
+   * 반환 시점에는 전송 결과를 알 수 없으므로 성공 여부(boolean) 대신 전송 상태를 추적할 outbox id 를 반환한다.
+   */
+  public Long sendOrderStatistMail(LocalDate orderDate, String email) {
+    // 해당 일자의 매출 요약을 만들고
+    SalesSummaryResponse summary = getSalesSummary(orderDate);
+
+    // 메일 전송 예약
+    return mailService.enqueueMail("no-reply@cafeKiosk.com",
         email,
-         String.format("[매출통계] %s", orderDate),
-        String.format("총 매출 합계는 %s원입니다.", totalAmount));
+        String.format("[매출통계] %s", orderDate),
+        createMailContent(summary));
+  }
+
+  /**
+   * 주문 수와 매출 합계는 일자별 매출 집계에서, 상품별 매출은 DB 에서 집계한 결과로 만든다. 주문 엔티티는 읽지 않는다.
+   */
+  public SalesSummaryResponse getSalesSummary(LocalDate salesDate) {
+    DailySales dailySales = salesAggregateService.getDailySales(salesDate);
+
+    List<ProductSalesResponse> productSales = orderProductRepository.findProductSalesBy(
+            salesDate.atStartOfDay(),
+            salesDate.plusDays(1).atStartOfDay(),
+            PAYMENT_COMPLETED
+        ).stream()
+        .map(ProductSalesResponse::of)
+        .toList();
+
+    return SalesSummaryResponse.of(salesDate, dailySales.getOrderCount(), dailySales.getTotalAmount(),
+        productSales);
+  }
 
-    if (!result) {
-      throw new IllegalStateException("매출 통계 메일 전송에 실패했습니다.");
+  private static String createMailContent(SalesSummaryResponse summary) {
+    String productTypeAmounts = summary.getProductTypeAmounts().entrySet().stream()
+        .map(entry -> String.format("%s %s원", entry.getKey().getText(), entry.getValue()))
+        .collect(Collectors.joining(", "));
+    String productSales = summary.getProductSales().stream()
+        .limit(MAIL_PRODUCT_SALES_LIMIT)
+        .map(sales -> String.format("%s(%s) %s개 %s원", sales.getName(), sales.getProductNumber(),
+            sales.getQuantity(), sales.getTotalAmount()))
+        .collect(Collectors.joining(", "));
+    int omittedCount = summary.getProductSales().size() - MAIL_PRODUCT_SALES_LIMIT;
+    if (omittedCount > 0) {
+      productSales += String.format(" 외 %s개 상품", omittedCount);
     }
 
-    return true;
+    return String.join("\n",
+        String.format("총 매출 합계는 %s원입니다.", summary.getTotalAmount()),
+        String.format("주문 수 : %s건", summary.getOrderCount()),
+        String.format("평균 주문 금액 : %s원", summary.getAverageAmount()),
+        String.format("상품 타입별 매출 : %s", productTypeAmounts),
+        String.format("상품별 매출 : %s", productSales));
   }
 
 }
@@ -0,0 +1,94 @@
+package sample.cafekiosk.spring.api.service.order.reservation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 만료 시각이 있는 항목들을 tick 단위 버킷에 나눠 담는 타이밍 휠.
+ * <p>
+ * 항목마다 타이머를 두지 않고, tick 이 지날 때 해당 버킷만 훑어서 만료된 항목을 꺼낸다.
+ * 휠 한 바퀴보다 먼 만료 시각은 남은 바퀴 수(rounds)로 표현한다.
+ */
+public class HashedTimingWheel<T> {
+
+  private final long tickMillis;
+  private final int wheelSize;
+  private final long startMillis;
+
+  // 버킷별 항목 -> 남은 바퀴 수
+  private final List<Map<T, Long>> buckets;
+  private final Map<T, Integer> bucketIndexes = new HashMap<>();
+
+  private long currentTick;
+
+  public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    if (tickMillis <= 0 || wheelSize <= 0) {
+      throw new IllegalArgumentException("tick 간격과 휠 크기는 양수여야 합니다.");
+    }
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.startMillis = startMillis;
+    this.buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new HashMap<>());
+    }
+  }
+
+  /**
+   * 항목을 만료 시각에 맞는 버킷에 넣는다. 이미 있는 항목이면 만료 시각을 바꾼다.
+   */
+  public synchronized void schedule(T item, long deadlineMillis) {
+    cancel(item);
+
+    long elapsedMillis = Math.max(deadlineMillis - startMillis, 0);
+    long deadlineTick = Math.max((elapsedMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+    long rounds = (deadlineTick - currentTick - 1) / wheelSize;
+    int bucketIndex = (int) (deadlineTick % wheelSize);
+
+    buckets.get(bucketIndex).put(item, rounds);
+    bucketIndexes.put(item, bucketIndex);
+  }
+
+  public synchronized boolean cancel(T item) {
+    Integer bucketIndex = bucketIndexes.remove(item);
+    if (bucketIndex == null) {
+      return false;
+    }
+    buckets.get(bucketIndex).remove(item);
+    return true;
+  }
+
+  /**
+   * 주어진 시각까지 tick 을 진행하고, 그 사이 만료된 항목들을 반환한다.
+   */
+  public synchronized List<T> advance(long nowMillis) {
+    long targetTick = (nowMillis - startMillis) / tickMillis;
+    List<T> expiredItems = new ArrayList<>();
+
+    while (currentTick < targetTick) {
+      currentTick++;
+      Iterator<Map.Entry<T, Long>> iterator = buckets.get((int) (currentTick % wheelSize))
+          .entrySet().iterator();
+
+      while (iterator.hasNext()) {
+        Map.Entry<T, Long> entry = iterator.next();
+        if (entry.getValue() > 0) {
+          entry.setValue(entry.getValue() - 1);
+          continue;
+        }
+        expiredItems.add(entry.getKey());
+        bucketIndexes.remove(entry.getKey());
+        iterator.remove();
+      }
+    }
+
+    return expiredItems;
+  }
+
+  public synchronized int size() {
+    return bucketIndexes.size();
+  }
+}
@@ -0,0 +1,165 @@
+package sample.cafekiosk.spring.api.service.order.reservation;
+
+import com.google.common.collect.Lists;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.sales.LiveSalesCounter;
+import sample.cafekiosk.spring.api.service.stock.StockService;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/**
+ * 결제 대기(INIT) 주문의 재고 예약을 TTL 동안 유지한다.
+ * <p>
+ * 결제가 완료되면 예약을 확정하고, TTL 안에 결제되지 않은 주문은 취소하면서 재고를 모아서 되돌린다.
+ * 만료 대상은 타이밍 휠로 찾기 때문에 orders 테이블을 주기적으로 조회하지 않는다.
+ * 휠에서 예약을 지우는 것은 트랜잭션이 커밋된 뒤에 하므로, 결제 완료/취소가 롤백되면 예약은 그대로 남아 만료된다.
+ * 만료 스케줄은 휠 한 칸의 시간(tick)마다 돈다.
+ */
+@Slf4j
+@Service
+public class OrderReservationService implements SchedulingConfigurer {
+
+  private static final int EXPIRE_CHUNK_SIZE = 500;
+
+  private final OrderRepository orderRepository;
+  private final StockService stockService;
+  private final LiveSalesCounter liveSalesCounter;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration ttl;
+  private final Duration tick;
+  private final HashedTimingWheel<Long> timingWheel;
+
+  public OrderReservationService(OrderRepository orderRepository, StockService stockService,
+      LiveSalesCounter liveSalesCounter, PlatformTransactionManager transactionManager,
+      @Value("${cafekiosk.order.reservation.ttl:15m}") Duration ttl,
+      @Value("${cafekiosk.order.reservation.tick:1s}") Duration tick,
+      @Value("${cafekiosk.order.reservation.wheel-size:512}") int wheelSize) {
+    this.orderRepository = orderRepository;
+    this.stockService = stockService;
+    this.liveSalesCounter = liveSalesCounter;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ttl = ttl;
+    this.tick = tick;
+    this.timingWheel = new HashedTimingWheel<>(tick.toMillis(), wheelSize,
+        System.currentTimeMillis());
+  }
+
+  // 재시작 시 남아 있는 결제 대기 주문들은 지금부터 다시 TTL 을 준다.
+  @EventListener(ApplicationReadyEvent.class)
+  public void recover() {
+    List<Long> orderIds = orderRepository.findIdsByOrderStatus(OrderStatus.INIT);
+    orderIds.forEach(this::reserve);
+
+    log.info("결제 대기 주문 예약 복구 : {}건", orderIds.size());
+  }
+
+  public void reserve(Long orderId) {
+    timingWheel.schedule(orderId, System.currentTimeMillis() + ttl.toMillis());
+  }
+
+  /**
+   * 결제 완료 등으로 더 이상 만료시킬 필요가 없는 주문의 예약을 확정한다.
+   */
+  public void confirm(Long orderId) {
+    afterCommit(() -> timingWheel.cancel(orderId));
+  }
+
+  /**
+   * 취소/결제실패/만료된 주문들의 재고를 상품별로 합산해서 되돌린다.
+   */
+  public void release(Collection<Order> orders) {
+    Map<String, Integer> quantities = new HashMap<>();
+    List<Long> orderIds = new ArrayList<>(orders.size());
+    orders.forEach(order -> {
+      orderIds.add(order.getId());
+      order.createStockQuantityMap().forEach((productNumber, quantity) ->
+          quantities.merge(productNumber, quantity, Integer::sum));
+    });
+    afterCommit(() -> orderIds.forEach(timingWheel::cancel));
+
+    if (!quantities.isEmpty()) {
+      stockService.restoreQuantities(quantities);
+    }
+  }
+
+  // 휠과 스케줄이 어긋나지 않도록 같은 tick 설정으로 등록한다.
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    taskRegistrar.addFixedDelayTask(this::expireDueReservations, tick);
+  }
+
+  public void expireDueReservations() {
+    expire(System.currentTimeMillis());
+  }
+
+  /**
+   * 주어진 시각까지 만료된 예약의 주문을 취소한다. 만료 처리한 주문 수를 반환한다.
+   * <p>
+   * 묶음 하나가 실패해도 나머지 묶음은 계속 처리하고, 실패한 묶음의 주문은 다음 tick 에 다시 만료시킨다.
+   */
+  public int expire(long nowMillis) {
+    List<Long> expiredOrderIds = timingWheel.advance(nowMillis);
+
+    int expiredCount = 0;
+    for (List<Long> orderIds : Lists.partition(expiredOrderIds, EXPIRE_CHUNK_SIZE)) {
+      try {
+        expiredCount += transactionTemplate.execute(status -> expireOrders(orderIds));
+      } catch (RuntimeException e) {
+        log.error("결제 대기 주문 만료 실패, 다음 tick 에 다시 시도 : {}건", orderIds.size(), e);
+        long retryMillis = nowMillis + tick.toMillis();
+        orderIds.forEach(orderId -> timingWheel.schedule(orderId, retryMillis));
+      }
+    }
+    return expiredCount;
+  }
+
+  private int expireOrders(List<Long> orderIds) {
+    // 결제 완료와 동시에 만료되지 않도록 주문 row 에 lock 을 잡고 상태를 다시 확인한다.
+    List<Order> orders = orderRepository.findAllForUpdateByIdIn(orderIds).stream()
+        .filter(Order::isInit)
+        .toList();
+
+    orders.forEach(order -> {
+      order.cancel();
+      liveSalesCounter.recordCanceled(order);
+    });
+    release(orders);
+
+    return orders.size();
+  }
+
+  public int getReservationCount() {
+    return timingWheel.size();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class OrderBatchItemResponse {
+
+  private int index;
+  private boolean success;
+  private String message;
+  private OrderResponse order;
+
+  @Builder
+  private OrderBatchItemResponse(int index, boolean success, String message, OrderResponse order) {
+    this.index = index;
+    this.success = success;
+    this.message = message;
+    this.order = order;
+  }
+
+  public static OrderBatchItemResponse success(int index, OrderResponse order) {
+    return OrderBatchItemResponse.builder()
+        .index(index)
+        .success(true)
+        .order(order)
+        .build();
+  }
+
+  public static OrderBatchItemResponse fail(int index, String message) {
+    return OrderBatchItemResponse.builder()
+        .index(index)
+        .success(false)
+        .message(message)
+        .build();
+  }
+}
@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class OrderIntakeResponse {
+
+  private String ticketId;
+  private OrderIntakeStatus status;
+  private String message;
+  private OrderResponse order;
+
+  @Builder
+  private OrderIntakeResponse(String ticketId, OrderIntakeStatus status, String message,
+      OrderResponse order) {
+    this.ticketId = ticketId;
+    this.status = status;
+    this.message = message;
+    this.order = order;
+  }
+
+  public static OrderIntakeResponse pending(String ticketId) {
+    return OrderIntakeResponse.builder()
+        .ticketId(ticketId)
+        .status(OrderIntakeStatus.PENDING)
+        .build();
+  }
+
+  public static OrderIntakeResponse completed(String ticketId, OrderResponse order) {
+    return OrderIntakeResponse.builder()
+        .ticketId(ticketId)
+        .status(OrderIntakeStatus.COMPLETED)
+        .order(order)
+        .build();
+  }
+
+  public static OrderIntakeResponse failed(String ticketId, String message) {
+    return OrderIntakeResponse.builder()
+        .ticketId(ticketId)
+        .status(OrderIntakeStatus.FAILED)
+        .message(message)
+        .build();
+  }
+}
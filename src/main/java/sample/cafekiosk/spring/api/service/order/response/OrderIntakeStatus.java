@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderIntakeStatus {
+
+  PENDING("처리 대기"),
+  COMPLETED("주문 생성 완료"),
+  FAILED("주문 생성 실패");
+
+  private final String text;
+
+}
@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+@Getter
+public class OrderProductResponse {
+
+  private String productNumber;
+  private ProductType type;
+  private String name;
+  private int price;
+  private int quantity;
+
+  @Builder
+  private OrderProductResponse(String productNumber, ProductType type, String name, int price,
+      int quantity) {
+    this.productNumber = productNumber;
+    this.type = type;
+    this.name = name;
+    this.price = price;
+    this.quantity = quantity;
+  }
+
+  public static OrderProductResponse of(OrderProduct orderProduct) {
+    Product product = orderProduct.getProduct();
+
+    return OrderProductResponse.builder()
+        .productNumber(product.getProductNumber())
+        .type(product.getType())
+        .name(product.getName())
+        .price(orderProduct.getPrice())
+        .quantity(orderProduct.getQuantity())
+        .build();
+  }
+}
@@ -5,21 +5,23 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Getter;
-import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 @Getter
 public class OrderResponse {
 
   private Long id;
+  private OrderStatus orderStatus;
   private int totalPrice;
   private LocalDateTime registeredDateTime;
-  private List<ProductResponse> products;
+  private List<OrderProductResponse> products;
 
   @Builder
-  private OrderResponse(Long id, int totalPrice, LocalDateTime registeredDateTime,
-      List<ProductResponse> products) {
+  private OrderResponse(Long id, OrderStatus orderStatus, int totalPrice, LocalDateTime registeredDateTime,
+      List<OrderProductResponse> products) {
     this.id = id;
+    this.orderStatus = orderStatus;
     this.totalPrice = totalPrice;
     this.registeredDateTime = registeredDateTime;
     this.products = products;
@@ -28,10 +30,11 @@ public class OrderResponse {
   public static OrderResponse of(Order order) {
     return OrderResponse.builder()
         .id(order.getId())
+        .orderStatus(order.getOrderStatus())
         .totalPrice(order.getTotalPrice())
         .registeredDateTime(order.getRegisteredDateTime())
         .products(order.getOrderProducts().stream()
-            .map(orderProduct -> ProductResponse.of(orderProduct.getProduct()))
+            .map(OrderProductResponse::of)
             .collect(Collectors.toList()))
         .build();
   }
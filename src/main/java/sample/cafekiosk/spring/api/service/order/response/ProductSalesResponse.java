@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.orderProduct.ProductSales;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+@Getter
+public class ProductSalesResponse {
+
+  private String productNumber;
+  private String name;
+  private ProductType type;
+  private long quantity;
+  private long totalAmount;
+
+  @Builder
+  private ProductSalesResponse(String productNumber, String name, ProductType type, long quantity,
+      long totalAmount) {
+    this.productNumber = productNumber;
+    this.name = name;
+    this.type = type;
+    this.quantity = quantity;
+    this.totalAmount = totalAmount;
+  }
+
+  public static ProductSalesResponse of(ProductSales productSales) {
+    return ProductSalesResponse.builder()
+        .productNumber(productSales.getProductNumber())
+        .name(productSales.getName())
+        .type(productSales.getType())
+        .quantity(productSales.getQuantity())
+        .totalAmount(productSales.getTotalAmount())
+        .build();
+  }
+}
@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 일자별 매출 요약. 상품 타입별 매출은 상품별 매출을 합산한 값이다.
+ */
+@Getter
+public class SalesSummaryResponse {
+
+  private LocalDate salesDate;
+  private long orderCount;
+  private long totalAmount;
+  private long averageAmount;
+  private Map<ProductType, Long> productTypeAmounts;
+  private List<ProductSalesResponse> productSales;
+
+  @Builder
+  private SalesSummaryResponse(LocalDate salesDate, long orderCount, long totalAmount,
+      Map<ProductType, Long> productTypeAmounts, List<ProductSalesResponse> productSales) {
+    this.salesDate = salesDate;
+    this.orderCount = orderCount;
+    this.totalAmount = totalAmount;
+    this.averageAmount = orderCount == 0 ? 0 : totalAmount / orderCount;
+    this.productTypeAmounts = productTypeAmounts;
+    this.productSales = productSales;
+  }
+
+  public static SalesSummaryResponse of(LocalDate salesDate, long orderCount, long totalAmount,
+      List<ProductSalesResponse> productSales) {
+    Map<ProductType, Long> productTypeAmounts = new EnumMap<>(ProductType.class);
+    productSales.forEach(sales ->
+        productTypeAmounts.merge(sales.getType(), sales.getTotalAmount(), Long::sum));
+
+    return SalesSummaryResponse.builder()
+        .salesDate(salesDate)
+        .orderCount(orderCount)
+        .totalAmount(totalAmount)
+        .productTypeAmounts(productTypeAmounts)
+        .productSales(productSales)
+        .build();
+  }
+}
@@ -0,0 +1,126 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+/**
+ * 상품번호로 상품을 찾는 read-through 캐시.
+ * <p>
+ * 메뉴는 하루에 몇 번 바뀌지 않으므로 기동 시 전체 상품을 적재해 두고, 주문 시에는 캐시에 없는 상품만 DB 에서 읽는다.
+ * 상품이 바뀌면 {@link ProductChangedEvent} 로 해당 상품을 무효화하고, 다른 인스턴스의 변경은 TTL 이 지나면 반영된다.
+ * 카탈로그 버전은 상품이 바뀔 때마다 증가하므로, 상품 목록으로 만든 다른 캐시의 유효성 확인에 쓴다.
+ * <p>
+ * 상품번호마다 0 부터 차례로 dense id 를 붙여서, 주문 처리에서 상품을 문자열 대신 int 로 다룰 수 있게 한다.
+ * dense id 는 이 인스턴스 안에서만 유효하고 재시작하면 달라지므로 저장하지 않는다.
+ */
+@Slf4j
+@Component
+public class ProductCatalog {
+
+  private final ProductRepository productRepository;
+  private final Cache<String, Product> cache;
+  private final Duration ttl;
+  private final AtomicLong version = new AtomicLong();
+  private final Map<String, Integer> denseIds = new ConcurrentHashMap<>();
+  private final AtomicInteger nextDenseId = new AtomicInteger();
+
+  public ProductCatalog(ProductRepository productRepository,
+      @Value("${cafekiosk.product.catalog.cache-size:10000}") long cacheSize,
+      @Value("${cafekiosk.product.catalog.ttl:1h}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.productRepository = productRepository;
+    this.ttl = ttl;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    // 적중률, 축출 건수를 /actuator/metrics/cache.* 로 노출한다.
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "product.catalog");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<Product> products = productRepository.findAll();
+    products.forEach(product -> cache.put(product.getProductNumber(), product));
+
+    log.info("상품 카탈로그 적재 완료 : {}건", products.size());
+  }
+
+  /**
+   * 상품번호에 해당하는 상품들을 반환한다. 존재하지 않는 상품번호는 결과에서 빠진다.
+   */
+  public List<Product> findAllByProductNumberIn(Collection<String> productNumbers) {
+    Map<String, Product> cachedProducts = cache.getAllPresent(productNumbers);
+    List<Product> products = new ArrayList<>(cachedProducts.values());
+
+    List<String> missingProductNumbers = productNumbers.stream()
+        .filter(productNumber -> !cachedProducts.containsKey(productNumber))
+        .distinct()
+        .toList();
+    if (missingProductNumbers.isEmpty()) {
+      return products;
+    }
+
+    // 존재하지 않는 상품번호는 캐싱하지 않는다.
+    List<Product> loadedProducts = productRepository.findAllByProductNumberIn(missingProductNumbers);
+    loadedProducts.forEach(product -> cache.put(product.getProductNumber(), product));
+    products.addAll(loadedProducts);
+
+    return products;
+  }
+
+  public int getDenseId(String productNumber) {
+    Integer denseId = denseIds.get(productNumber);
+    if (denseId != null) {
+      return denseId;
+    }
+    return denseIds.computeIfAbsent(productNumber, key -> nextDenseId.getAndIncrement());
+  }
+
+  // 롤백된 변경으로 캐시를 비우지 않도록 커밋 이후에 무효화한다.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    cache.invalidateAll(event.productNumbers());
+    version.incrementAndGet();
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+    version.incrementAndGet();
+  }
+
+  public long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * 다른 인스턴스의 변경은 버전을 올리지 않으므로, 상품 목록으로 만든 캐시도 이 시간이 지나면 다시 만들어야 한다.
+   */
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+}
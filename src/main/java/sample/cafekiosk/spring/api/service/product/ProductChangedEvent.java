@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.List;
+
+/**
+ * 상품이 생성/수정되어 캐시된 상품 정보를 다시 읽어야 할 때 발행한다. 일괄 등록은 chunk 단위로 한 번 발행한다.
+ */
+public record ProductChangedEvent(List<String> productNumbers) {
+
+  public static ProductChangedEvent of(String productNumber) {
+    return new ProductChangedEvent(List.of(productNumber));
+  }
+}
@@ -0,0 +1,292 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportErrorResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * CSV 로 상품을 일괄 등록한다.
+ * <p>
+ * 업로드를 한 줄씩 읽으면서 검증하고, chunk-size 개씩 모아 한 트랜잭션에서 상품과 초기 재고를 batch insert 한다.
+ * 한 번에 메모리에 올라가는 행은 chunk 하나뿐이다. 잘못된 행은 건너뛰고 행 번호와 사유를 응답한다.
+ * <pre>
+ * productType,productSellingStatus,name,price,stockQuantity
+ * BOTTLE,SELLING,콜라,1500,100
+ * HANDMADE,SELLING,"아메리카노, 샷 추가",4500,
+ * </pre>
+ * 컬럼 순서는 헤더를 따르고 stockQuantity 는 생략할 수 있다. 값 안의 쉼표는 큰따옴표로 감싼다(값 안의 줄바꿈은 지원하지 않는다).
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+  private static final List<String> REQUIRED_COLUMNS =
+      List.of("productType", "productSellingStatus", "name", "price");
+  private static final String STOCK_QUANTITY_COLUMN = "stockQuantity";
+
+  private final ProductRepository productRepository;
+  private final StockRepository stockRepository;
+  private final ProductNumberAllocator productNumberAllocator;
+  private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int errorLimit;
+
+  public ProductImportService(ProductRepository productRepository, StockRepository stockRepository,
+      ProductNumberAllocator productNumberAllocator, Validator validator,
+      ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      @Value("${cafekiosk.product.import.chunk-size:1000}") int chunkSize,
+      @Value("${cafekiosk.product.import.error-limit:1000}") int errorLimit) {
+    this.productRepository = productRepository;
+    this.stockRepository = stockRepository;
+    this.productNumberAllocator = productNumberAllocator;
+    this.validator = validator;
+    this.eventPublisher = eventPublisher;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.errorLimit = errorLimit;
+  }
+
+  public ProductImportResponse importProducts(InputStream inputStream) throws IOException {
+    ImportResult result = new ImportResult();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+    Map<String, Integer> columns = parseHeader(reader.readLine());
+    if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+      result.fail(1, "헤더에 " + String.join(", ", REQUIRED_COLUMNS) + " 컬럼이 필요합니다.");
+      return result.toResponse();
+    }
+
+    List<ImportRow> chunk = new ArrayList<>(chunkSize);
+    int lineNumber = 1;
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+
+      result.totalCount++;
+      try {
+        chunk.add(parseRow(lineNumber, columns, line));
+      } catch (IllegalArgumentException e) {
+        result.fail(lineNumber, e.getMessage());
+      }
+
+      if (chunk.size() == chunkSize) {
+        save(chunk, result);
+        chunk.clear();
+      }
+    }
+    save(chunk, result);
+
+    log.info("상품 일괄 등록 : 전체 {}건, 성공 {}건, 실패 {}건",
+        result.totalCount, result.successCount, result.failureCount);
+    return result.toResponse();
+  }
+
+  private void save(List<ImportRow> chunk, ImportResult result) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        List<Product> products = new ArrayList<>(chunk.size());
+        List<Stock> stocks = new ArrayList<>();
+
+        for (ImportRow row : chunk) {
+          String productNumber = productNumberAllocator.next();
+          products.add(row.request().toServiceRequest().toEntity(productNumber));
+
+          if (row.stockQuantity() != null
+              && ProductType.containsStockType(row.request().getProductType())) {
+            stocks.add(Stock.create(productNumber, row.stockQuantity()));
+          }
+        }
+
+        productRepository.saveAll(products);
+        stockRepository.saveAll(stocks);
+
+        // chunk 가 끝나면 영속성 컨텍스트를 비워서 메모리에 쌓이지 않게 한다.
+        entityManager.flush();
+        entityManager.clear();
+
+        eventPublisher.publishEvent(new ProductChangedEvent(products.stream()
+            .map(Product::getProductNumber)
+            .toList()));
+      });
+      result.successCount += chunk.size();
+    } catch (RuntimeException e) {
+      log.error("상품 일괄 등록 chunk 저장 실패 : {}행부터 {}건", chunk.get(0).lineNumber(), chunk.size(), e);
+      chunk.forEach(row -> result.fail(row.lineNumber(), "상품을 저장하지 못했습니다."));
+    }
+  }
+
+  private static Map<String, Integer> parseHeader(String headerLine) {
+    Map<String, Integer> columns = new HashMap<>();
+    if (headerLine == null) {
+      return columns;
+    }
+
+    // UTF-8 BOM 이 붙은 파일도 받는다.
+    List<String> names = parseLine(headerLine.replace("\uFEFF", ""));
+    for (int i = 0; i < names.size(); i++) {
+      columns.put(names.get(i).trim(), i);
+    }
+    return columns;
+  }
+
+  private ImportRow parseRow(int lineNumber, Map<String, Integer> columns, String line) {
+    List<String> values = parseLine(line);
+
+    ProductCreateRequest request = ProductCreateRequest.builder()
+        .productType(parseEnum(ProductType.class, value(values, columns, "productType"),
+            "상품 타입이 올바르지 않습니다."))
+        .productSellingStatus(parseEnum(ProductSellingStatus.class,
+            value(values, columns, "productSellingStatus"), "상품 판매상태가 올바르지 않습니다."))
+        .name(value(values, columns, "name"))
+        .price(parseInt(value(values, columns, "price"), "상품 가격은 숫자여야 합니다."))
+        .build();
+
+    // API 로 등록할 때와 같은 검증 규칙을 적용한다.
+    Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new IllegalArgumentException(violations.stream()
+          .map(ConstraintViolation::getMessage)
+          .sorted()
+          .collect(Collectors.joining(" ")));
+    }
+
+    Integer stockQuantity = null;
+    String stockQuantityValue = value(values, columns, STOCK_QUANTITY_COLUMN);
+    if (stockQuantityValue != null) {
+      stockQuantity = parseInt(stockQuantityValue, "재고 수량은 숫자여야 합니다.");
+      if (stockQuantity < 0) {
+        throw new IllegalArgumentException("재고 수량은 0 이상이어야 합니다.");
+      }
+    }
+
+    return new ImportRow(lineNumber, request, stockQuantity);
+  }
+
+  // 값이 없거나 비어 있으면 null
+  private static String value(List<String> values, Map<String, Integer> columns, String column) {
+    Integer index = columns.get(column);
+    if (index == null || index >= values.size()) {
+      return null;
+    }
+    String value = values.get(index).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String message) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(type, value);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  private static int parseInt(String value, String message) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  // 쉼표로 나누되 큰따옴표 안의 쉼표는 값으로 본다. "" 는 큰따옴표 하나로 읽는다.
+  private static List<String> parseLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+
+    return values;
+  }
+
+  private record ImportRow(int lineNumber, ProductCreateRequest request, Integer stockQuantity) {
+
+  }
+
+  private class ImportResult {
+
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private final List<ProductImportErrorResponse> errors = new ArrayList<>();
+
+    private void fail(int lineNumber, String message) {
+      failureCount++;
+      if (errors.size() < errorLimit) {
+        errors.add(ProductImportErrorResponse.of(lineNumber, message));
+      }
+    }
+
+    private ProductImportResponse toResponse() {
+      return ProductImportResponse.builder()
+          .totalCount(totalCount)
+          .successCount(successCount)
+          .failureCount(failureCount)
+          .errors(errors)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+/**
+ * 상품번호 발급기 (hi/lo).
+ * <p>
+ * product_number_sequence 에서 block-size 만큼의 구간을 예약해 두고, 구간 안의 번호는 메모리의 카운터로 발급한다.
+ * 동시에 상품을 등록해도 같은 번호가 나오지 않고, DB 는 구간을 다 쓸 때만 조회한다.
+ * 다른 인스턴스와 구간이 겹치지 않는 대신 재시작하거나 롤백되면 번호가 비어 있을 수 있다.
+ */
+@Component
+public class ProductNumberAllocator {
+
+  private static final String SEQUENCE_NAME = "product_number";
+
+  private final ProductNumberSequenceRepository productNumberSequenceRepository;
+  private final ProductRepository productRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int blockSize;
+
+  private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EMPTY);
+
+  public ProductNumberAllocator(ProductNumberSequenceRepository productNumberSequenceRepository,
+      ProductRepository productRepository, PlatformTransactionManager transactionManager,
+      @Value("${cafekiosk.product.number.block-size:50}") int blockSize) {
+    this.productNumberSequenceRepository = productNumberSequenceRepository;
+    this.productRepository = productRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // 상품 등록 트랜잭션이 롤백되어도 예약한 구간은 돌려주지 않는다.
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * 001, 002, ... 999, 1000 형식의 다음 상품번호
+   */
+  public String next() {
+    while (true) {
+      Block block = currentBlock.get();
+      long value = block.next();
+      if (value >= 0) {
+        return String.format("%03d", value);
+      }
+      refill(block);
+    }
+  }
+
+  // 구간을 다 쓴 스레드 중 하나만 새 구간을 예약한다.
+  private synchronized void refill(Block exhaustedBlock) {
+    if (currentBlock.get() != exhaustedBlock) {
+      return;
+    }
+
+    long start = transactionTemplate.execute(status -> reserveBlock());
+    currentBlock.set(new Block(start, start + blockSize));
+  }
+
+  private long reserveBlock() {
+    ProductNumberSequence sequence = productNumberSequenceRepository.findWithLockByName(SEQUENCE_NAME)
+        .orElseGet(this::createSequence);
+    return sequence.reserve(blockSize);
+  }
+
+  // 처음 발급할 때는 이미 등록된 상품번호 다음부터 시작한다.
+  private ProductNumberSequence createSequence() {
+    Integer maxProductNumber = productRepository.findMaxProductNumber();
+    long nextValue = maxProductNumber == null ? 1 : maxProductNumber + 1;
+
+    try {
+      return productNumberSequenceRepository.saveAndFlush(
+          ProductNumberSequence.create(SEQUENCE_NAME, nextValue));
+    } catch (DataIntegrityViolationException e) {
+      throw new IllegalStateException("상품번호 발급 위치를 만드는 중 충돌이 발생했습니다. 다시 시도해 주세요.", e);
+    }
+  }
+
+  private static class Block {
+
+    private static final Block EMPTY = new Block(0, 0);
+
+    private final AtomicLong nextValue;
+    private final long endValue;
+
+    private Block(long startValue, long endValue) {
+      this.nextValue = new AtomicLong(startValue);
+      this.endValue = endValue;
+    }
+
+    // 구간을 다 쓰면 -1
+    private long next() {
+      long value = nextValue.getAndIncrement();
+      return value < endValue ? value : -1;
+    }
+  }
+}
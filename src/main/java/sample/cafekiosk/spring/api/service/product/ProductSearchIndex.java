@@ -0,0 +1,165 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.forDisplay;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+/**
+ * 판매 중/판매 보류 상품의 이름을 글자 단위(1-gram)와 두 글자 단위(2-gram)로 나눈 역색인.
+ * <p>
+ * 검색어를 2-gram 으로 나눠 각 gram 의 상품 집합을 교집합한 뒤, 이름에 검색어가 실제로 들어 있는지 한 번 더 확인한다.
+ * 한 글자 검색은 1-gram 집합을 그대로 쓴다. 공백과 대소문자는 구분하지 않는다.
+ * 상품이 등록되거나 판매 상태가 바뀌면 {@link ProductChangedEvent} 로 해당 상품만 다시 색인한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+  private final ProductRepository productRepository;
+
+  private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+  private final Map<String, IndexedProduct> products = new ConcurrentHashMap<>();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<Product> displayProducts = productRepository.findAllBySellingStatusIn(forDisplay());
+    displayProducts.forEach(this::index);
+
+    log.info("상품 검색 색인 완료 : {}건", displayProducts.size());
+  }
+
+  /**
+   * 이름에 검색어가 들어 있는 상품을 id 순으로 최대 limit 개 반환한다.
+   */
+  public List<ProductResponse> search(String query, int limit) {
+    String normalizedQuery = normalize(query);
+    if (normalizedQuery.isEmpty()) {
+      return List.of();
+    }
+
+    List<IndexedProduct> matchedProducts = new ArrayList<>();
+    for (String productNumber : findCandidates(normalizedQuery)) {
+      IndexedProduct product = products.get(productNumber);
+      if (product != null && product.normalizedName().contains(normalizedQuery)) {
+        matchedProducts.add(product);
+      }
+    }
+
+    return matchedProducts.stream()
+        .sorted(Comparator.comparing(product -> product.response().getId()))
+        .limit(limit)
+        .map(IndexedProduct::response)
+        .toList();
+  }
+
+  // 커밋된 상품 상태를 읽어야 하므로 새 트랜잭션에서 조회한다.
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    event.productNumbers().forEach(this::remove);
+    productRepository.findAllByProductNumberIn(event.productNumbers()).stream()
+        .filter(product -> forDisplay().contains(product.getSellingStatus()))
+        .forEach(this::index);
+  }
+
+  public void clear() {
+    postings.clear();
+    products.clear();
+  }
+
+  private Set<String> findCandidates(String normalizedQuery) {
+    if (normalizedQuery.codePointCount(0, normalizedQuery.length()) == 1) {
+      return postings.getOrDefault(normalizedQuery, Set.of());
+    }
+
+    // 상품이 가장 적은 gram 부터 교집합을 만든다.
+    List<Set<String>> gramPostings = new ArrayList<>();
+    for (String gram : bigrams(normalizedQuery)) {
+      Set<String> posting = postings.get(gram);
+      if (posting == null) {
+        return Set.of();
+      }
+      gramPostings.add(posting);
+    }
+    gramPostings.sort(Comparator.comparingInt(Set::size));
+
+    Set<String> candidates = new HashSet<>(gramPostings.get(0));
+    for (int i = 1; i < gramPostings.size() && !candidates.isEmpty(); i++) {
+      candidates.retainAll(gramPostings.get(i));
+    }
+    return candidates;
+  }
+
+  private synchronized void index(Product product) {
+    remove(product.getProductNumber());
+
+    String normalizedName = normalize(product.getName());
+    products.put(product.getProductNumber(),
+        new IndexedProduct(normalizedName, ProductResponse.of(product)));
+    grams(normalizedName).forEach(gram ->
+        postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet())
+            .add(product.getProductNumber()));
+  }
+
+  private synchronized void remove(String productNumber) {
+    IndexedProduct product = products.remove(productNumber);
+    if (product == null) {
+      return;
+    }
+
+    grams(product.normalizedName()).forEach(gram -> {
+      Set<String> posting = postings.get(gram);
+      if (posting != null) {
+        posting.remove(productNumber);
+        if (posting.isEmpty()) {
+          postings.remove(gram);
+        }
+      }
+    });
+  }
+
+  private static Set<String> grams(String normalizedName) {
+    Set<String> grams = new HashSet<>(bigrams(normalizedName));
+    normalizedName.codePoints()
+        .forEach(codePoint -> grams.add(new String(Character.toChars(codePoint))));
+    return grams;
+  }
+
+  private static List<String> bigrams(String text) {
+    int[] codePoints = text.codePoints().toArray();
+    List<String> bigrams = new ArrayList<>(Math.max(codePoints.length - 1, 0));
+    for (int i = 0; i + 1 < codePoints.length; i++) {
+      bigrams.add(new String(codePoints, i, 2));
+    }
+    return bigrams;
+  }
+
+  private static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    return text.replaceAll("\\s+", "").toLowerCase();
+  }
+
+  private record IndexedProduct(String normalizedName, ProductResponse response) {
+
+  }
+}
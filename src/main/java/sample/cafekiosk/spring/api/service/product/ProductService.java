@@ -2,34 +2,78 @@ package sample.cafekiosk.spring.api.service.product;
 
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.forDisplay;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsSnapshot;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ProductService {
 
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final ProductRepository productRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ProductCatalog productCatalog;
+  private final ProductNumberAllocator productNumberAllocator;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+  private final ProductSearchIndex productSearchIndex;
+
+  private final AtomicReference<SellingProductsSnapshot> sellingProductsSnapshot = new AtomicReference<>();
 
   @Transactional
   public ProductResponse createProduct(ProductCreateServiceRequest request) {
-    String nextProductNumber = createNextProductNumber();
+    String nextProductNumber = productNumberAllocator.next();
 
     Product product = request.toEntity(nextProductNumber);
     Product savedProduct = productRepository.save(product);
+    eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct.getProductNumber()));
 
     return ProductResponse.of(savedProduct);
   }
 
+  @Transactional
+  public ProductResponse changeSellingStatus(String productNumber, ProductSellingStatus sellingStatus) {
+    Product product = productRepository.findByProductNumber(productNumber)
+        .orElseThrow(() -> new IllegalArgumentException("상품이 존재하지 않습니다."));
+
+    product.changeSellingStatus(sellingStatus);
+    eventPublisher.publishEvent(ProductChangedEvent.of(productNumber));
+
+    return ProductResponse.of(product);
+  }
+
+  /**
+   * 판매 중/판매 보류 상품 중 이름에 검색어가 들어간 상품. DB 를 조회하지 않고 검색 색인에서 찾는다.
+   */
+  public List<ProductResponse> searchProducts(String query, int limit) {
+    return productSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+  }
+
   @Transactional(readOnly = true)
   public List<ProductResponse> getSellingProducts() {
     List<Product> products = productRepository
@@ -40,21 +84,79 @@ public class ProductService {
         .collect(Collectors.toList());
   }
 
-  // productNumber
-  // 001, 002, 003
-  // DB 에서 마지막 저장된 Product의 상품 번호를 읽어와서 + 1
-  private String createNextProductNumber() {
-    String latestProductNumber = productRepository.findLatestProductNumber();
+  /**
+   * 판매 상품을 id 순으로 cursor 다음부터 size 개 조회한다. OFFSET 을 쓰지 않으므로 뒤쪽 페이지도 조회 비용이 같다.
+   */
+  public ProductPageResponse getSellingProductsPage(Long cursor, int size) {
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
 
-    if (latestProductNumber == null) {
-      return "001";
-    }
+    // 다음 페이지가 있는지 알기 위해 한 건 더 읽는다.
+    List<Product> products = productRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+        forDisplay(), cursor == null ? 0L : cursor, Limit.of(pageSize + 1));
 
-    int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-    int nextProductNumberInt = latestProductNumberInt + 1;
+    boolean hasNext = products.size() > pageSize;
+    List<Product> pageProducts = hasNext ? products.subList(0, pageSize) : products;
 
-    return String.format("%03d", nextProductNumberInt);
+    return ProductPageResponse.builder()
+        .products(pageProducts.stream()
+            .map(ProductResponse::of)
+            .toList())
+        .nextCursor(pageProducts.isEmpty() ? null : pageProducts.get(pageProducts.size() - 1).getId())
+        .hasNext(hasNext)
+        .build();
   }
-}
 
+  /**
+   * 판매 상품 조회 응답을 한 건씩 outputStream 에 써 내려간다. 상품 수와 상관없이 메모리에는 fetch size 만큼만 올라간다.
+   */
+  public void writeSellingProducts(OutputStream outputStream) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        Stream<Product> products = productRepository.streamAllBySellingStatusIn(forDisplay())) {
+      // 응답 스트림은 컨테이너가 닫는다.
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartObject();
+      generator.writeNumberField("code", HttpStatus.OK.value());
+      generator.writeStringField("status", HttpStatus.OK.name());
+      generator.writeStringField("message", HttpStatus.OK.name());
+      generator.writeArrayFieldStart("data");
+
+      for (Product product : (Iterable<Product>) products::iterator) {
+        generator.writeObject(ProductResponse.of(product));
+        // 영속성 컨텍스트에 쌓이지 않도록 쓰고 나면 바로 분리한다.
+        entityManager.detach(product);
+      }
 
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * 판매 상품 조회 응답(ApiResponse)을 직렬화한 결과를 반환한다. 카탈로그 버전이 바뀌었거나 카탈로그 TTL 보다 오래된 경우에만
+   * 다시 만든다.
+   */
+  public SellingProductsSnapshot getSellingProductsSnapshot() {
+    // 버전을 먼저 읽어야 조회 중에 상품이 바뀌어도 다음 요청에서 다시 만든다.
+    long catalogVersion = productCatalog.getVersion();
+
+    SellingProductsSnapshot snapshot = sellingProductsSnapshot.get();
+    // 다른 인스턴스에서 바뀐 상품은 버전에 잡히지 않으므로 TTL 이 지나면 다시 만든다.
+    if (snapshot != null && snapshot.getVersion() == catalogVersion
+        && !snapshot.isOlderThan(productCatalog.getTtl())) {
+      return snapshot;
+    }
+
+    SellingProductsSnapshot newSnapshot = SellingProductsSnapshot.of(catalogVersion,
+        serialize(ApiResponse.ok(getSellingProducts())));
+    sellingProductsSnapshot.set(newSnapshot);
+    return newSnapshot;
+  }
+
+  private byte[] serialize(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("판매 상품 응답을 만들 수 없습니다.", e);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 상품 일괄 등록 결과. 실패한 행은 최대 errorLimit 개까지만 담고, 나머지는 failureCount 로만 알 수 있다.
+ */
+@Getter
+public class ProductImportResponse {
+
+  private int totalCount;
+  private int successCount;
+  private int failureCount;
+  private List<ProductImportErrorResponse> errors;
+
+  @Builder
+  private ProductImportResponse(int totalCount, int successCount, int failureCount,
+      List<ProductImportErrorResponse> errors) {
+    this.totalCount = totalCount;
+    this.successCount = successCount;
+    this.failureCount = failureCount;
+    this.errors = errors;
+  }
+}
@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * id 커서 기반 페이지. 다음 페이지는 nextCursor 를 cursor 로 넘겨서 조회한다.
+ */
+@Getter
+public class ProductPageResponse {
+
+  private List<ProductResponse> products;
+  private Long nextCursor;
+  private boolean hasNext;
+
+  @Builder
+  private ProductPageResponse(List<ProductResponse> products, Long nextCursor, boolean hasNext) {
+    this.products = products;
+    this.nextCursor = nextCursor;
+    this.hasNext = hasNext;
+  }
+}
@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+import lombok.Getter;
+
+/**
+ * 판매 상품 조회 응답을 미리 직렬화해 둔 결과. 카탈로그 버전이 바뀌거나 만든 지 오래되기 전까지 그대로 재사용한다.
+ * <p>
+ * ETag 는 응답 본문의 해시라서 인스턴스가 달라도 내용이 같으면 같은 값이 나온다.
+ */
+@Getter
+public class SellingProductsSnapshot {
+
+  private final long version;
+  private final String etag;
+  private final byte[] body;
+  private final byte[] gzipBody;
+  private final long createdNanos;
+
+  private SellingProductsSnapshot(long version, String etag, byte[] body, byte[] gzipBody) {
+    this.version = version;
+    this.etag = etag;
+    this.body = body;
+    this.gzipBody = gzipBody;
+    this.createdNanos = System.nanoTime();
+  }
+
+  public static SellingProductsSnapshot of(long version, byte[] body) {
+    String etag = "\"" + Hashing.sha256().hashBytes(body).toString().substring(0, 32) + "\"";
+    return new SellingProductsSnapshot(version, etag, body, gzip(body));
+  }
+
+  public boolean matches(String ifNoneMatch) {
+    return ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag));
+  }
+
+  public boolean isOlderThan(Duration maxAge) {
+    return System.nanoTime() - createdNanos >= maxAge.toNanos();
+  }
+
+  private static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 4 + 64);
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+}
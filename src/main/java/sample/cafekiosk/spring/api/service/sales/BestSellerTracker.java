@@ -0,0 +1,138 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.sales.response.BestSellerResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+
+/**
+ * 주문된 상품 수량으로 지금 많이 팔리는 상품을 근사 추적한다.
+ * <p>
+ * 최근 1시간은 slot 길이의 Space-Saving 요약을 링으로 돌려 쓰고 조회할 때 합치며, 오늘은 요약 하나를 자정에 새로 만든다.
+ * order_product 를 GROUP BY 하지 않고, 메모리는 (slot 수 + 1) x capacity 개의 카운터로 고정된다.
+ */
+@Component
+public class BestSellerTracker {
+
+  public enum Window {
+    HOUR, TODAY
+  }
+
+  private final int capacity;
+  private final long slotSeconds;
+  private final AtomicReferenceArray<Slot> hourSlots;
+  private final AtomicReference<Slot> today;
+
+  public BestSellerTracker(
+      @Value("${cafekiosk.sales.best-seller.capacity:100}") int capacity,
+      @Value("${cafekiosk.sales.best-seller.slot:5m}") Duration slot) {
+    if (Duration.ofHours(1).toSeconds() % slot.toSeconds() != 0) {
+      throw new IllegalArgumentException("slot 길이는 1시간을 나누어 떨어지게 해야 합니다.");
+    }
+    this.capacity = capacity;
+    this.slotSeconds = slot.toSeconds();
+    this.hourSlots = new AtomicReferenceArray<>((int) (Duration.ofHours(1).toSeconds() / slotSeconds));
+    this.today = new AtomicReference<>(new Slot(LocalDate.now().toEpochDay(), capacity));
+  }
+
+  /**
+   * 생성된 주문의 상품별 수량을 더한다. 트랜잭션 안에서 호출되면 커밋된 뒤에 반영한다.
+   */
+  public void record(Order order) {
+    Map<String, Integer> quantities = new TreeMap<>();
+    order.getOrderProducts().forEach(orderProduct -> quantities.merge(
+        orderProduct.getProduct().getProductNumber(), orderProduct.getQuantity(), Integer::sum));
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      record(quantities, LocalDateTime.now());
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        record(quantities, LocalDateTime.now());
+      }
+    });
+  }
+
+  void record(Map<String, Integer> quantities, LocalDateTime now) {
+    Slot hourSlot = slotOf(now);
+    Slot todaySlot = todayOf(now.toLocalDate());
+    quantities.forEach((productNumber, quantity) -> {
+      hourSlot.summary.add(productNumber, quantity);
+      todaySlot.summary.add(productNumber, quantity);
+    });
+  }
+
+  public List<BestSellerResponse> getBestSellers(Window window, int limit) {
+    return getBestSellers(window, limit, LocalDateTime.now());
+  }
+
+  List<BestSellerResponse> getBestSellers(Window window, int limit, LocalDateTime now) {
+    List<SpaceSaving> summaries = new ArrayList<>();
+    if (window == Window.TODAY) {
+      summaries.add(todayOf(now.toLocalDate()).summary);
+    } else {
+      // 현재 slot 부터 1시간 안의 slot 만 합친다.
+      long currentSlot = slotIdOf(now);
+      for (int i = 0; i < hourSlots.length(); i++) {
+        Slot slot = hourSlots.get(i);
+        if (slot != null && slot.id > currentSlot - hourSlots.length() && slot.id <= currentSlot) {
+          summaries.add(slot.summary);
+        }
+      }
+    }
+
+    return SpaceSaving.merge(summaries, Math.min(Math.max(limit, 1), capacity)).stream()
+        .map(BestSellerResponse::of)
+        .toList();
+  }
+
+  // 링의 같은 자리에 남아 있는 1시간 전 slot 은 새 slot 으로 교체한다.
+  private Slot slotOf(LocalDateTime now) {
+    long slotId = slotIdOf(now);
+    int index = (int) (slotId % hourSlots.length());
+    while (true) {
+      Slot slot = hourSlots.get(index);
+      if (slot != null && slot.id >= slotId) {
+        return slot;
+      }
+      hourSlots.compareAndSet(index, slot, new Slot(slotId, capacity));
+    }
+  }
+
+  private Slot todayOf(LocalDate date) {
+    long day = date.toEpochDay();
+    while (true) {
+      Slot slot = today.get();
+      if (slot.id >= day) {
+        return slot;
+      }
+      today.compareAndSet(slot, new Slot(day, capacity));
+    }
+  }
+
+  private long slotIdOf(LocalDateTime now) {
+    return now.toEpochSecond(ZoneOffset.UTC) / slotSeconds;
+  }
+
+  private record Slot(long id, SpaceSaving summary) {
+
+    private Slot(long id, int capacity) {
+      this(id, new SpaceSaving(capacity));
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static sample.cafekiosk.spring.domain.order.OrderStatus.CANCELED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_FAILED;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.sales.response.LiveSalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.MinuteSalesResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSales;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.orderProduct.ProductSales;
+
+/**
+ * 오늘 주문/매출을 DB 를 거치지 않고 메모리 카운터로 집계한다.
+ * <p>
+ * 일자 합계와 상품별 판매 수량은 LongAdder 로, 최근 1시간 매출은 분 단위 버킷 60개를 링으로 돌려 쓴다.
+ * 주문 생성과 상태 변경은 트랜잭션이 커밋된 뒤에 반영하고, 일자는 주문 등록 일자 기준이다.
+ * 시작할 때 오늘 주문을 집계 쿼리로 읽어 채우므로 재시작해도 일자 합계는 유지된다. 최근 1시간 매출은 비어서 시작한다.
+ */
+@Slf4j
+@Component
+public class LiveSalesCounter {
+
+  private static final int RING_SIZE = 60;
+
+  private final OrderRepository orderRepository;
+  private final OrderProductRepository orderProductRepository;
+
+  private final AtomicReference<DailyCounters> today = new AtomicReference<>(
+      new DailyCounters(LocalDate.now()));
+  private final AtomicReferenceArray<MinuteBucket> minuteBuckets = new AtomicReferenceArray<>(RING_SIZE);
+
+  public LiveSalesCounter(OrderRepository orderRepository,
+      OrderProductRepository orderProductRepository) {
+    this.orderRepository = orderRepository;
+    this.orderProductRepository = orderProductRepository;
+  }
+
+  /**
+   * 웹 서버가 요청을 받기 전에 오늘 주문을 집계 쿼리로 읽어 카운터에 더한다.
+   * <p>
+   * 카운터를 교체하지 않고 더하므로, 적재 전에 반영된 주문이 있어도 사라지지 않는다.
+   */
+  @PostConstruct
+  public void load() {
+    LocalDate salesDate = LocalDate.now();
+    LocalDateTime startDateTime = salesDate.atStartOfDay();
+    LocalDateTime endDateTime = startDateTime.plusDays(1);
+
+    DailyCounters counters = countersOf(salesDate);
+    if (counters == null) {
+      return;
+    }
+
+    for (OrderStatus orderStatus : OrderStatus.values()) {
+      OrderSales orderSales = orderRepository.findSalesBy(startDateTime, endDateTime, orderStatus);
+      counters.createdOrderCount.add(orderSales.getOrderCount());
+
+      if (orderStatus == PAYMENT_COMPLETED) {
+        counters.paidOrderCount.add(orderSales.getOrderCount());
+        counters.totalAmount.add(orderSales.getTotalAmount());
+      } else if (orderStatus == CANCELED || orderStatus == PAYMENT_FAILED) {
+        counters.canceledOrderCount.add(orderSales.getOrderCount());
+      }
+    }
+
+    List<ProductSales> productSales = orderProductRepository.findProductSalesBy(startDateTime,
+        endDateTime, PAYMENT_COMPLETED);
+    productSales.forEach(sales -> counters.quantityOf(sales.getProductNumber()).add(sales.getQuantity()));
+
+    log.info("실시간 매출 카운터 적재 완료 : 결제완료 {}건", counters.paidOrderCount.sum());
+  }
+
+  public void recordCreated(Order order) {
+    LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+    afterCommit(() -> {
+      DailyCounters counters = countersOf(salesDate);
+      if (counters != null) {
+        counters.createdOrderCount.increment();
+      }
+    });
+  }
+
+  /**
+   * 결제완료된 주문의 금액과 상품별 수량을 더한다. 주문상품은 호출한 트랜잭션 안에서 미리 읽어 둔다.
+   */
+  public void recordPaid(Order order) {
+    LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+    int totalPrice = order.getTotalPrice();
+    Map<String, Integer> quantities = new TreeMap<>();
+    order.getOrderProducts().forEach(orderProduct -> quantities.merge(
+        orderProduct.getProduct().getProductNumber(), orderProduct.getQuantity(), Integer::sum));
+
+    afterCommit(() -> {
+      DailyCounters counters = countersOf(salesDate);
+      if (counters != null) {
+        counters.paidOrderCount.increment();
+        counters.totalAmount.add(totalPrice);
+        quantities.forEach((productNumber, quantity) -> counters.quantityOf(productNumber).add(quantity));
+      }
+
+      MinuteBucket bucket = bucketOf(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+      if (bucket != null) {
+        bucket.orderCount.increment();
+        bucket.totalAmount.add(totalPrice);
+      }
+    });
+  }
+
+  /**
+   * 취소, 결제실패, 예약 만료된 주문을 센다.
+   */
+  public void recordCanceled(Order order) {
+    LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+    afterCommit(() -> {
+      DailyCounters counters = countersOf(salesDate);
+      if (counters != null) {
+        counters.canceledOrderCount.increment();
+      }
+    });
+  }
+
+  public LiveSalesResponse getLiveSales() {
+    LocalDateTime now = LocalDateTime.now();
+    DailyCounters counters = Optional.ofNullable(countersOf(now.toLocalDate()))
+        .orElseGet(() -> new DailyCounters(now.toLocalDate()));
+
+    Map<String, Long> productQuantities = new TreeMap<>();
+    counters.productQuantities.forEach((productNumber, quantity) ->
+        productQuantities.put(productNumber, quantity.sum()));
+
+    // 오래된 분부터 현재 분까지, 매출이 있었던 분만 담는다.
+    LocalDateTime currentMinute = now.truncatedTo(ChronoUnit.MINUTES);
+    List<MinuteSalesResponse> recentMinutes = new ArrayList<>();
+    for (int i = RING_SIZE - 1; i >= 0; i--) {
+      LocalDateTime minute = currentMinute.minusMinutes(i);
+      MinuteBucket bucket = minuteBuckets.get(indexOf(minute));
+      if (bucket != null && bucket.minute.equals(minute)) {
+        recentMinutes.add(MinuteSalesResponse.of(minute, bucket.orderCount.sum(), bucket.totalAmount.sum()));
+      }
+    }
+
+    return LiveSalesResponse.builder()
+        .salesDate(counters.salesDate)
+        .createdOrderCount(counters.createdOrderCount.sum())
+        .paidOrderCount(counters.paidOrderCount.sum())
+        .canceledOrderCount(counters.canceledOrderCount.sum())
+        .totalAmount(counters.totalAmount.sum())
+        .productQuantities(productQuantities)
+        .recentMinutes(recentMinutes)
+        .build();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  // 날짜가 바뀌면 새 카운터로 교체한다. 오늘이 아닌 날짜의 주문은 null 을 반환해서 반영하지 않는다.
+  private DailyCounters countersOf(LocalDate salesDate) {
+    while (true) {
+      DailyCounters current = today.get();
+      if (current.salesDate.equals(salesDate)) {
+        return current;
+      }
+      if (salesDate.isBefore(current.salesDate) || salesDate.isAfter(LocalDate.now())) {
+        return null;
+      }
+      today.compareAndSet(current, new DailyCounters(salesDate));
+    }
+  }
+
+  // 링의 같은 자리에 남아 있는 1시간 전 버킷은 새 버킷으로 교체한다.
+  private MinuteBucket bucketOf(LocalDateTime minute) {
+    int index = indexOf(minute);
+    while (true) {
+      MinuteBucket bucket = minuteBuckets.get(index);
+      if (bucket != null && bucket.minute.equals(minute)) {
+        return bucket;
+      }
+      if (bucket != null && bucket.minute.isAfter(minute)) {
+        return null;
+      }
+      minuteBuckets.compareAndSet(index, bucket, new MinuteBucket(minute));
+    }
+  }
+
+  private static int indexOf(LocalDateTime minute) {
+    return (int) (minute.toEpochSecond(ZoneOffset.UTC) / 60 % RING_SIZE);
+  }
+
+  private static class DailyCounters {
+
+    private final LocalDate salesDate;
+    private final LongAdder createdOrderCount = new LongAdder();
+    private final LongAdder paidOrderCount = new LongAdder();
+    private final LongAdder canceledOrderCount = new LongAdder();
+    private final LongAdder totalAmount = new LongAdder();
+    private final Map<String, LongAdder> productQuantities = new ConcurrentHashMap<>();
+
+    private DailyCounters(LocalDate salesDate) {
+      this.salesDate = salesDate;
+    }
+
+    private LongAdder quantityOf(String productNumber) {
+      return productQuantities.computeIfAbsent(productNumber, key -> new LongAdder());
+    }
+  }
+
+  private static class MinuteBucket {
+
+    private final LocalDateTime minute;
+    private final LongAdder orderCount = new LongAdder();
+    private final LongAdder totalAmount = new LongAdder();
+
+    private MinuteBucket(LocalDateTime minute) {
+      this.minute = minute;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.HourlyOrderSales;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.sales.DailySales;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDate;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDateRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySales;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+/**
+ * 결제완료 주문의 일자별/시간대별 매출 집계.
+ * <p>
+ * 주문이 결제완료되면 같은 트랜잭션에서 집계 행에 주문 수와 금액을 더한다(UPDATE 만 한다).
+ * 집계 행은 기동 시(오늘, 내일)와 매일 밤(내일) 미리 만들어 두므로, 결제완료 트랜잭션 안에서 새 트랜잭션을 열지 않는다.
+ * 조회한 날짜의 집계 행이 없으면 orders 에서 그날 집계를 만들고, 어긋났을 때는 rebuild 로 기간 내 집계를 다시 계산한다.
+ * 결제완료 시 집계 행이 없었던 날짜는 {@link DirtySalesDate} 로 남겨 두고, 그날 집계를 조회하거나 주기적으로 다시 계산한다.
+ */
+@Slf4j
+@Service
+public class SalesAggregateService {
+
+  private final OrderRepository orderRepository;
+  private final DailySalesRepository dailySalesRepository;
+  private final HourlySalesRepository hourlySalesRepository;
+  private final DirtySalesDateRepository dirtySalesDateRepository;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean prepareOnStartup;
+
+  public SalesAggregateService(OrderRepository orderRepository,
+      DailySalesRepository dailySalesRepository,
+      HourlySalesRepository hourlySalesRepository,
+      DirtySalesDateRepository dirtySalesDateRepository,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      @Value("${cafekiosk.sales.aggregate.prepare-on-startup:true}") boolean prepareOnStartup) {
+    this.orderRepository = orderRepository;
+    this.dailySalesRepository = dailySalesRepository;
+    this.hourlySalesRepository = hourlySalesRepository;
+    this.dirtySalesDateRepository = dirtySalesDateRepository;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.prepareOnStartup = prepareOnStartup;
+  }
+
+  /**
+   * 결제완료된 주문을 등록 일자/시간대 집계에 더한다. 호출한 트랜잭션과 함께 커밋/롤백된다.
+   * <p>
+   * 집계 행이 없으면 더하지 않고 그 날짜를 다시 계산할 날짜로 남긴다. 결제 트랜잭션이 커넥션을 하나 더 잡거나
+   * 다른 결제와 집계 행 INSERT 로 부딪히지 않도록 여기서는 집계 행을 만들지 않는다. 남긴 날짜도 결제와 함께 커밋/롤백된다.
+   */
+  @Transactional
+  public void record(Order order) {
+    LocalDateTime registeredDateTime = order.getRegisteredDateTime();
+    LocalDate salesDate = registeredDateTime.toLocalDate();
+
+    if (dailySalesRepository.addOrder(salesDate, order.getTotalPrice()) == 0) {
+      dirtySalesDateRepository.save(DirtySalesDate.create(salesDate));
+      log.warn("매출 집계 행이 없어 다시 계산할 날짜로 남김 : {}", salesDate);
+      return;
+    }
+    hourlySalesRepository.addOrder(registeredDateTime.truncatedTo(ChronoUnit.HOURS),
+        order.getTotalPrice());
+  }
+
+  /**
+   * 일자별/시간대별 집계 행을 미리 만들어 둔다. 이미 있으면 그대로 둔다.
+   */
+  public void prepare(LocalDate salesDate) {
+    createIfAbsent(salesDate);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void prepareOnStartup() {
+    if (!prepareOnStartup) {
+      return;
+    }
+    LocalDate today = LocalDate.now();
+    prepare(today);
+    prepare(today.plusDays(1));
+  }
+
+  // 자정이 지나 첫 결제완료 주문이 들어오기 전에 다음 날 집계 행을 만들어 둔다.
+  @Scheduled(cron = "${cafekiosk.sales.aggregate.prepare-cron:0 0 23 * * *}")
+  public void prepareTomorrow() {
+    prepare(LocalDate.now().plusDays(1));
+  }
+
+  /**
+   * 일자별 집계 한 행을 조회한다. 집계가 없는 날짜는 orders 에서 만들고, 빠진 결제가 있는 날짜는 다시 계산해서 반환한다.
+   */
+  public DailySales getDailySales(LocalDate salesDate) {
+    if (dirtySalesDateRepository.existsBySalesDate(salesDate)) {
+      rebuild(salesDate, salesDate);
+    }
+    return dailySalesRepository.findById(salesDate)
+        .orElseGet(() -> {
+          createIfAbsent(salesDate);
+          return dailySalesRepository.findById(salesDate)
+              .orElseThrow(() -> new IllegalStateException("매출 집계가 존재하지 않습니다."));
+        });
+  }
+
+  public List<HourlySales> getHourlySales(LocalDate salesDate) {
+    getDailySales(salesDate);
+    return hourlySalesRepository.findAllBySalesHourGreaterThanEqualAndSalesHourLessThanOrderBySalesHour(
+        salesDate.atStartOfDay(), salesDate.plusDays(1).atStartOfDay());
+  }
+
+  /**
+   * 기간 내 일자별/시간대별 집계를 orders 에서 다시 계산한다. 일자마다 별도 트랜잭션으로 처리한다.
+   * <p>
+   * 다시 계산하는 동안 결제완료된 주문은 빠질 수 있으므로 마감된 날짜에 사용한다.
+   */
+  public void rebuild(LocalDate startDate, LocalDate endDate) {
+    for (LocalDate salesDate = startDate; !salesDate.isAfter(endDate); salesDate = salesDate.plusDays(1)) {
+      LocalDate targetDate = salesDate;
+      transactionTemplate.executeWithoutResult(status -> {
+        dirtySalesDateRepository.deleteBySalesDate(targetDate);
+        hourlySalesRepository.deleteBySalesHourBetween(targetDate.atStartOfDay(),
+            targetDate.plusDays(1).atStartOfDay());
+        dailySalesRepository.deleteBySalesDate(targetDate);
+        saveAggregates(targetDate);
+      });
+    }
+    log.info("매출 집계 재계산 완료 : {} ~ {}", startDate, endDate);
+  }
+
+  // 전날 늦게 결제완료된 주문까지 반영되도록 자정이 지나고 전날 집계를 다시 계산한다.
+  @Scheduled(cron = "${cafekiosk.sales.aggregate.rebuild-cron:0 10 0 * * *}")
+  public void rebuildYesterday() {
+    LocalDate yesterday = LocalDate.now().minusDays(1);
+    rebuild(yesterday, yesterday);
+  }
+
+  // 조회되지 않는 날짜도 빠진 결제가 오래 남지 않도록 주기적으로 다시 계산한다.
+  @Scheduled(cron = "${cafekiosk.sales.aggregate.dirty-rebuild-cron:0 * * * * *}")
+  public void rebuildDirtyDates() {
+    dirtySalesDateRepository.findAllSalesDates()
+        .forEach(salesDate -> rebuild(salesDate, salesDate));
+  }
+
+  // 여러 인스턴스가 동시에 만들면 한쪽만 만들고 다른 쪽은 unique 제약에 걸려 이미 만들어진 집계를 쓴다.
+  private void createIfAbsent(LocalDate salesDate) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        if (!dailySalesRepository.existsById(salesDate)) {
+          saveAggregates(salesDate);
+        }
+      });
+    } catch (DataIntegrityViolationException e) {
+      log.debug("매출 집계가 이미 생성됨 : {}", salesDate);
+    }
+  }
+
+  // 주문이 없는 시간대도 0 으로 만들어 두어 이후 결제완료 시에는 UPDATE 만 하면 된다.
+  private void saveAggregates(LocalDate salesDate) {
+    LocalDateTime startDateTime = salesDate.atStartOfDay();
+    Map<Integer, HourlyOrderSales> orderSalesByHour = orderRepository.findHourlySalesBy(
+            startDateTime, startDateTime.plusDays(1), PAYMENT_COMPLETED).stream()
+        .collect(Collectors.toMap(HourlyOrderSales::getSalesHour, Function.identity()));
+
+    List<HourlySales> hourlySales = new ArrayList<>(24);
+    for (int hour = 0; hour < 24; hour++) {
+      HourlyOrderSales orderSales = orderSalesByHour.get(hour);
+      hourlySales.add(HourlySales.create(startDateTime.plusHours(hour),
+          orderSales == null ? 0 : orderSales.getOrderCount(),
+          orderSales == null ? 0 : orderSales.getTotalAmount()));
+    }
+
+    // id 를 직접 지정하는 엔티티라 save(merge) 대신 persist 로 INSERT 만 하게 한다.
+    hourlySales.forEach(entityManager::persist);
+    entityManager.persist(DailySales.create(salesDate, hourlySales));
+    dailySalesRepository.flush();
+  }
+}
@@ -0,0 +1,173 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.response.ProductSalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.SalesReportResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSales;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.orderProduct.ProductSales;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 기간 매출 보고서를 일자 단위로 나눠서 병렬로 집계한다.
+ * <p>
+ * 일자마다 주문 수/매출 합계 집계 쿼리와 상품별 집계 스트림 쿼리를 읽기 전용 트랜잭션에서 실행하고, 결과를 상품번호 기준으로 합친다.
+ * 주문 엔티티를 읽지 않으므로 메모리는 주문 수가 아니라 상품 수에 비례한다.
+ * 동시에 쓰는 DB 커넥션 수는 parallelism 을 넘지 않는다.
+ */
+@Service
+public class SalesReportService {
+
+  private final OrderRepository orderRepository;
+  private final OrderProductRepository orderProductRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ForkJoinPool pool;
+  private final int maxDays;
+
+  public SalesReportService(OrderRepository orderRepository,
+      OrderProductRepository orderProductRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${cafekiosk.sales.report.parallelism:4}") int parallelism,
+      @Value("${cafekiosk.sales.report.max-days:366}") int maxDays) {
+    this.orderRepository = orderRepository;
+    this.orderProductRepository = orderProductRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.pool = new ForkJoinPool(parallelism);
+    this.maxDays = maxDays;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  public SalesReportResponse getSalesReport(LocalDate startDate, LocalDate endDate) {
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("조회 종료일은 시작일보다 빠를 수 없습니다.");
+    }
+    if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxDays) {
+      throw new IllegalArgumentException(String.format("조회 기간은 최대 %s일입니다.", maxDays));
+    }
+
+    List<ForkJoinTask<DayReport>> tasks = startDate.datesUntil(endDate.plusDays(1))
+        .map(salesDate -> pool.submit(() -> aggregate(salesDate)))
+        .toList();
+
+    List<DailySalesResponse> dailySales = new ArrayList<>(tasks.size());
+    Map<String, ProductSalesTotal> productTotals = new HashMap<>();
+    for (ForkJoinTask<DayReport> task : tasks) {
+      DayReport dayReport = task.join();
+      dailySales.add(dayReport.dailySales());
+      dayReport.productTotals().forEach((productNumber, total) ->
+          productTotals.merge(productNumber, total, ProductSalesTotal::merge));
+    }
+
+    return createReport(startDate, endDate, dailySales, productTotals.values());
+  }
+
+  // 하루치 집계. 풀의 스레드에서 실행되므로 트랜잭션을 직접 연다.
+  private DayReport aggregate(LocalDate salesDate) {
+    return transactionTemplate.execute(status -> {
+      LocalDateTime startDateTime = salesDate.atStartOfDay();
+      LocalDateTime endDateTime = startDateTime.plusDays(1);
+
+      OrderSales orderSales = orderRepository.findSalesBy(startDateTime, endDateTime, PAYMENT_COMPLETED);
+
+      Map<String, ProductSalesTotal> productTotals = new HashMap<>();
+      try (Stream<ProductSales> productSales = orderProductRepository.streamProductSalesBy(
+          startDateTime, endDateTime, PAYMENT_COMPLETED)) {
+        productSales.forEach(sales -> productTotals.put(sales.getProductNumber(), ProductSalesTotal.of(sales)));
+      }
+
+      return new DayReport(
+          DailySalesResponse.of(salesDate, orderSales.getOrderCount(), orderSales.getTotalAmount()),
+          productTotals);
+    });
+  }
+
+  private static SalesReportResponse createReport(LocalDate startDate, LocalDate endDate,
+      List<DailySalesResponse> dailySales, Iterable<ProductSalesTotal> productTotals) {
+    Map<ProductType, Long> productTypeAmounts = new EnumMap<>(ProductType.class);
+    List<ProductSalesResponse> productSales = new ArrayList<>();
+    for (ProductSalesTotal total : productTotals) {
+      productTypeAmounts.merge(total.type, total.totalAmount, Long::sum);
+      productSales.add(total.toResponse());
+    }
+    productSales.sort(Comparator.comparingLong(ProductSalesResponse::getTotalAmount).reversed()
+        .thenComparing(ProductSalesResponse::getProductNumber));
+
+    return SalesReportResponse.builder()
+        .startDate(startDate)
+        .endDate(endDate)
+        .orderCount(dailySales.stream().mapToLong(DailySalesResponse::getOrderCount).sum())
+        .totalAmount(dailySales.stream().mapToLong(DailySalesResponse::getTotalAmount).sum())
+        .dailySales(dailySales)
+        .productTypeAmounts(productTypeAmounts)
+        .productSales(productSales)
+        .build();
+  }
+
+  private record DayReport(DailySalesResponse dailySales, Map<String, ProductSalesTotal> productTotals) {
+
+  }
+
+  private static class ProductSalesTotal {
+
+    private final String productNumber;
+    private final String name;
+    private final ProductType type;
+    private long quantity;
+    private long totalAmount;
+
+    private ProductSalesTotal(String productNumber, String name, ProductType type, long quantity,
+        long totalAmount) {
+      this.productNumber = productNumber;
+      this.name = name;
+      this.type = type;
+      this.quantity = quantity;
+      this.totalAmount = totalAmount;
+    }
+
+    private static ProductSalesTotal of(ProductSales sales) {
+      return new ProductSalesTotal(sales.getProductNumber(), sales.getName(), sales.getType(),
+          sales.getQuantity(), sales.getTotalAmount());
+    }
+
+    private ProductSalesTotal merge(ProductSalesTotal other) {
+      quantity += other.quantity;
+      totalAmount += other.totalAmount;
+      return this;
+    }
+
+    private ProductSalesResponse toResponse() {
+      return ProductSalesResponse.builder()
+          .productNumber(productNumber)
+          .name(name)
+          .type(type)
+          .quantity(quantity)
+          .totalAmount(totalAmount)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 자주 나오는 항목을 capacity 개의 카운터로만 추적하는 Space-Saving 요약.
+ * <p>
+ * 추적 중이 아닌 항목이 들어오면 가장 작은 카운터를 빼앗아 그 값에서 이어서 세고, 빼앗은 값을 오차로 기록한다.
+ * 추정치 count 는 실제 횟수보다 작지 않고, 실제 횟수는 count - error 보다 작지 않다.
+ * 메모리는 들어온 항목 수와 상관없이 capacity 개의 카운터로 고정된다.
+ */
+public class SpaceSaving {
+
+  private final int capacity;
+  private final Map<String, Counter> counters;
+
+  public SpaceSaving(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("카운터 수는 양수여야 합니다.");
+    }
+    this.capacity = capacity;
+    this.counters = new HashMap<>(capacity * 2);
+  }
+
+  public synchronized void add(String item, long count) {
+    Counter counter = counters.get(item);
+    if (counter != null) {
+      counter.count += count;
+      return;
+    }
+
+    if (counters.size() < capacity) {
+      counters.put(item, new Counter(count, 0));
+      return;
+    }
+
+    // 카운터가 다 찼으면 가장 작은 카운터를 새 항목에 넘긴다. capacity 가 작아서 전체를 훑는다.
+    Map.Entry<String, Counter> min = counters.entrySet().stream()
+        .min(Comparator.comparingLong(entry -> entry.getValue().count))
+        .orElseThrow();
+    counters.remove(min.getKey());
+    counters.put(item, new Counter(min.getValue().count + count, min.getValue().count));
+  }
+
+  /**
+   * 추정 횟수가 큰 순서로 최대 limit 개를 반환한다.
+   */
+  public List<Estimate> top(int limit) {
+    return merge(List.of(this), limit);
+  }
+
+  /**
+   * 여러 요약을 합친 추정치. 어떤 요약에 없는 항목은 그 요약이 가득 찼다면 최소 카운터만큼 나왔을 수 있으므로 count 와 error 에 더한다.
+   */
+  public static List<Estimate> merge(List<SpaceSaving> summaries, int limit) {
+    List<Snapshot> snapshots = summaries.stream()
+        .map(SpaceSaving::snapshot)
+        .toList();
+
+    Set<String> items = new HashSet<>();
+    snapshots.forEach(snapshot -> items.addAll(snapshot.estimates().keySet()));
+
+    List<Estimate> merged = new ArrayList<>(items.size());
+    for (String item : items) {
+      long count = 0;
+      long error = 0;
+      for (Snapshot snapshot : snapshots) {
+        Estimate estimate = snapshot.estimates().get(item);
+        if (estimate != null) {
+          count += estimate.count();
+          error += estimate.error();
+        } else {
+          count += snapshot.minCount();
+          error += snapshot.minCount();
+        }
+      }
+      merged.add(new Estimate(item, count, error));
+    }
+
+    return merged.stream()
+        .sorted(Comparator.comparingLong(Estimate::count).reversed()
+            .thenComparing(Estimate::item))
+        .limit(limit)
+        .toList();
+  }
+
+  public synchronized int size() {
+    return counters.size();
+  }
+
+  // 가득 차지 않은 요약은 빠진 항목이 한 번도 나오지 않은 것이므로 minCount 가 0 이다.
+  private synchronized Snapshot snapshot() {
+    Map<String, Estimate> estimates = new HashMap<>(counters.size() * 2);
+    counters.forEach((item, counter) -> estimates.put(item, new Estimate(item, counter.count, counter.error)));
+
+    long minCount = counters.size() < capacity ? 0 : counters.values().stream()
+        .mapToLong(counter -> counter.count)
+        .min()
+        .orElse(0);
+    return new Snapshot(estimates, minCount);
+  }
+
+  /**
+   * count 는 추정 횟수(상한), error 는 최대 과대 추정치다. 실제 횟수는 guaranteedCount 이상 count 이하이다.
+   */
+  public record Estimate(String item, long count, long error) {
+
+    public long guaranteedCount() {
+      return count - error;
+    }
+  }
+
+  private record Snapshot(Map<String, Estimate> estimates, long minCount) {
+
+  }
+
+  private static class Counter {
+
+    private long count;
+    private final long error;
+
+    private Counter(long count, long error) {
+      this.count = count;
+      this.error = error;
+    }
+  }
+}
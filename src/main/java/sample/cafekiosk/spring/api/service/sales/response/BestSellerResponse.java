@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.sales.SpaceSaving.Estimate;
+
+/**
+ * 상품별 추정 판매 수량. 실제 수량은 guaranteedQuantity 이상 quantity 이하이다.
+ */
+@Getter
+public class BestSellerResponse {
+
+  private String productNumber;
+  private long quantity;
+  private long error;
+  private long guaranteedQuantity;
+
+  @Builder
+  private BestSellerResponse(String productNumber, long quantity, long error) {
+    this.productNumber = productNumber;
+    this.quantity = quantity;
+    this.error = error;
+    this.guaranteedQuantity = quantity - error;
+  }
+
+  public static BestSellerResponse of(Estimate estimate) {
+    return BestSellerResponse.builder()
+        .productNumber(estimate.item())
+        .quantity(estimate.count())
+        .error(estimate.error())
+        .build();
+  }
+}
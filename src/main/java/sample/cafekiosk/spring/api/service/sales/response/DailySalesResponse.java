@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class DailySalesResponse {
+
+  private LocalDate salesDate;
+  private long orderCount;
+  private long totalAmount;
+
+  @Builder
+  private DailySalesResponse(LocalDate salesDate, long orderCount, long totalAmount) {
+    this.salesDate = salesDate;
+    this.orderCount = orderCount;
+    this.totalAmount = totalAmount;
+  }
+
+  public static DailySalesResponse of(LocalDate salesDate, long orderCount, long totalAmount) {
+    return DailySalesResponse.builder()
+        .salesDate(salesDate)
+        .orderCount(orderCount)
+        .totalAmount(totalAmount)
+        .build();
+  }
+}
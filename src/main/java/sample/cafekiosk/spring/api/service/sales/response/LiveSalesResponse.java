@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 오늘 실시간 매출. productQuantities 는 상품번호별 판매(결제완료) 수량, recentMinutes 는 최근 1시간의 분별 매출이다.
+ */
+@Getter
+public class LiveSalesResponse {
+
+  private LocalDate salesDate;
+  private long createdOrderCount;
+  private long paidOrderCount;
+  private long canceledOrderCount;
+  private long totalAmount;
+  private Map<String, Long> productQuantities;
+  private List<MinuteSalesResponse> recentMinutes;
+
+  @Builder
+  private LiveSalesResponse(LocalDate salesDate, long createdOrderCount, long paidOrderCount,
+      long canceledOrderCount, long totalAmount, Map<String, Long> productQuantities,
+      List<MinuteSalesResponse> recentMinutes) {
+    this.salesDate = salesDate;
+    this.createdOrderCount = createdOrderCount;
+    this.paidOrderCount = paidOrderCount;
+    this.canceledOrderCount = canceledOrderCount;
+    this.totalAmount = totalAmount;
+    this.productQuantities = productQuantities;
+    this.recentMinutes = recentMinutes;
+  }
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class MinuteSalesResponse {
+
+  private LocalDateTime minute;
+  private long orderCount;
+  private long totalAmount;
+
+  @Builder
+  private MinuteSalesResponse(LocalDateTime minute, long orderCount, long totalAmount) {
+    this.minute = minute;
+    this.orderCount = orderCount;
+    this.totalAmount = totalAmount;
+  }
+
+  public static MinuteSalesResponse of(LocalDateTime minute, long orderCount, long totalAmount) {
+    return MinuteSalesResponse.builder()
+        .minute(minute)
+        .orderCount(orderCount)
+        .totalAmount(totalAmount)
+        .build();
+  }
+}
@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.response.ProductSalesResponse;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 기간 매출 보고서. 일자별 합계, 상품 타입별 매출, 매출이 큰 순서의 상품별 매출을 담는다.
+ */
+@Getter
+public class SalesReportResponse {
+
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private long orderCount;
+  private long totalAmount;
+  private long averageAmount;
+  private List<DailySalesResponse> dailySales;
+  private Map<ProductType, Long> productTypeAmounts;
+  private List<ProductSalesResponse> productSales;
+
+  @Builder
+  private SalesReportResponse(LocalDate startDate, LocalDate endDate, long orderCount, long totalAmount,
+      List<DailySalesResponse> dailySales, Map<ProductType, Long> productTypeAmounts,
+      List<ProductSalesResponse> productSales) {
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.orderCount = orderCount;
+    this.totalAmount = totalAmount;
+    this.averageAmount = orderCount == 0 ? 0 : totalAmount / orderCount;
+    this.dailySales = dailySales;
+    this.productTypeAmounts = productTypeAmounts;
+    this.productSales = productSales;
+  }
+}
@@ -0,0 +1,167 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.Arrays;
+
+/**
+ * 상품의 dense id(int) 를 키로 수량을 세는 open addressing 맵.
+ * <p>
+ * 키와 수량을 int 배열에 그대로 담기 때문에 상품을 추가해도 boxing 이나 entry 객체가 생기지 않는다.
+ * 재고 차감까지 이 맵을 그대로 넘기고, 상품번호는 조건부 UPDATE 처럼 문자열이 꼭 필요한 곳에서만 꺼내 쓴다.
+ */
+public final class ProductQuantityMap {
+
+  private static final int EMPTY = -1;
+
+  private int[] keys;
+  private int[] quantities;
+  private String[] productNumbers;
+  private int size;
+
+  public ProductQuantityMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+    this.keys = new int[capacity];
+    this.quantities = new int[capacity];
+    this.productNumbers = new String[capacity];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  public void add(int denseId, String productNumber, int quantity) {
+    int slot = findSlot(keys, denseId);
+    if (keys[slot] == EMPTY) {
+      keys[slot] = denseId;
+      productNumbers[slot] = productNumber;
+      if (++size * 2 > keys.length) {
+        resize();
+        slot = findSlot(keys, denseId);
+      }
+    }
+    quantities[slot] += quantity;
+  }
+
+  public int get(int denseId) {
+    int slot = findSlot(keys, denseId);
+    return keys[slot] == EMPTY ? 0 : quantities[slot];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * 모든 상품에 대해 조건을 만족하면 true. 처음으로 만족하지 않는 상품에서 멈춘다.
+   */
+  public boolean allMatch(QuantityPredicate predicate) {
+    return countWhile(predicate) == size;
+  }
+
+  /**
+   * 조건을 만족하지 않는 상품이 나올 때까지 순회하고, 그 앞까지 만족한 상품 수를 반환한다.
+   * 순회 순서는 항상 같으므로 {@link #forEachFirst} 로 만족한 상품들만 다시 꺼낼 수 있다.
+   */
+  public int countWhile(QuantityPredicate predicate) {
+    int count = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] == EMPTY) {
+        continue;
+      }
+      if (!predicate.test(keys[slot], productNumbers[slot], quantities[slot])) {
+        return count;
+      }
+      count++;
+    }
+    return count;
+  }
+
+  public void forEach(QuantityConsumer consumer) {
+    forEachFirst(size, consumer);
+  }
+
+  /**
+   * 순회 순서상 앞에서부터 count 개의 상품만 꺼낸다.
+   */
+  public void forEachFirst(int count, QuantityConsumer consumer) {
+    int visited = 0;
+    for (int slot = 0; slot < keys.length && visited < count; slot++) {
+      if (keys[slot] != EMPTY) {
+        consumer.accept(keys[slot], productNumbers[slot], quantities[slot]);
+        visited++;
+      }
+    }
+  }
+
+  /**
+   * 상품번호 순으로 꺼낸다. 동시 주문끼리 같은 순서로 row lock 을 잡아야 하는 곳에서 쓴다.
+   */
+  public void forEachInProductNumberOrder(QuantityConsumer consumer) {
+    int[] slots = new int[size];
+    int count = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] == EMPTY) {
+        continue;
+      }
+      // 주문 한 건의 상품 수는 많지 않으므로 삽입 정렬로 충분하다.
+      int index = count++;
+      while (index > 0 && productNumbers[slots[index - 1]].compareTo(productNumbers[slot]) > 0) {
+        slots[index] = slots[index - 1];
+        index--;
+      }
+      slots[index] = slot;
+    }
+
+    for (int slot : slots) {
+      consumer.accept(keys[slot], productNumbers[slot], quantities[slot]);
+    }
+  }
+
+  // 선형 탐색으로 키가 있는 칸 또는 비어 있는 칸을 찾는다. 적재율을 절반 이하로 유지하므로 항상 빈 칸이 있다.
+  private static int findSlot(int[] keys, int denseId) {
+    int mask = keys.length - 1;
+    int slot = mix(denseId) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != denseId) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int mix(int denseId) {
+    int hash = denseId * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private void resize() {
+    int[] oldKeys = keys;
+    int[] oldQuantities = quantities;
+    String[] oldProductNumbers = productNumbers;
+
+    keys = new int[oldKeys.length * 2];
+    quantities = new int[keys.length];
+    productNumbers = new String[keys.length];
+    Arrays.fill(keys, EMPTY);
+
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldKeys[oldSlot] == EMPTY) {
+        continue;
+      }
+      int slot = findSlot(keys, oldKeys[oldSlot]);
+      keys[slot] = oldKeys[oldSlot];
+      quantities[slot] = oldQuantities[oldSlot];
+      productNumbers[slot] = oldProductNumbers[oldSlot];
+    }
+  }
+
+  @FunctionalInterface
+  public interface QuantityPredicate {
+
+    boolean test(int denseId, String productNumber, int quantity);
+  }
+
+  @FunctionalInterface
+  public interface QuantityConsumer {
+
+    void accept(int denseId, String productNumber, int quantity);
+  }
+}
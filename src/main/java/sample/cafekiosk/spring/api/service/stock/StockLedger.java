@@ -0,0 +1,258 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.product.ProductCatalog;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantityMap.QuantityConsumer;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantityMap.QuantityPredicate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 상품별 재고를 메모리에서 관리하는 원장.
+ * <p>
+ * 주문 시에는 상품별 카운터에 CAS 로만 재고를 예약하고, 커밋된 차감분은 스케줄러가 모아서 stock 테이블에 반영한다(write-behind).
+ * 카운터는 상품 카탈로그의 dense id 를 인덱스로 배열에 두므로 주문 처리 중에는 상품번호 문자열로 찾지 않는다.
+ * cafekiosk.stock.ledger.enabled=true 일 때만 등록된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cafekiosk.stock.ledger", name = "enabled", havingValue = "true")
+public class StockLedger {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final StockRepository stockRepository;
+  private final ProductCatalog productCatalog;
+  private final TransactionTemplate transactionTemplate;
+
+  // 상품마다 카운터를 따로 두어 서로 다른 상품끼리는 경합하지 않는다.
+  // 배열은 커질 때만 잠금 안에서 복사해서 바꾸고, 조회는 잠금 없이 한다.
+  private volatile AtomicReferenceArray<Counter> counters = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+  // 주문마다 람다를 만들지 않도록 한 번만 만들어 둔다.
+  private final QuantityPredicate reserveAction = this::reserveQuantity;
+  private final QuantityConsumer confirmAction = this::confirm;
+  private final QuantityConsumer cancelAction = this::cancel;
+
+  public StockLedger(StockRepository stockRepository, ProductCatalog productCatalog,
+      PlatformTransactionManager transactionManager) {
+    this.stockRepository = stockRepository;
+    this.productCatalog = productCatalog;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * 웹 서버가 요청을 받기 전에 stock 테이블로 원장을 적재한다.
+   * <p>
+   * 이미 카운터가 있는 상품은 그대로 둔다. 아직 flush 되지 않은 차감분을 버리면 재고가 초과 판매되기 때문이다.
+   */
+  @PostConstruct
+  public void rebuild() {
+    List<Stock> stocks = transactionTemplate.execute(status -> stockRepository.findAll());
+
+    stocks.forEach(stock -> registerIfAbsent(productCatalog.getDenseId(stock.getProductNumber()),
+        new Counter(stock.getProductNumber(), stock.getQuantity())));
+
+    log.info("재고 원장 적재 완료 : {}건", stocks.size());
+  }
+
+  /**
+   * 상품별 수량을 한 번에 예약한다. 하나라도 부족하면 앞서 예약한 수량을 되돌리고 예외를 던진다.
+   * <p>
+   * 트랜잭션 안에서 호출되면 커밋 시 차감분이 flush 대상이 되고, 롤백 시 예약이 취소된다.
+   */
+  public void reserve(ProductQuantityMap quantities) {
+    if (!tryReserve(quantities)) {
+      throw new IllegalStateException("재고가 부족한 상품이 있습니다.");
+    }
+  }
+
+  /**
+   * {@link #reserve} 와 같지만 재고가 부족하면 예외 대신 false 를 반환한다. 여러 주문을 묶어서 처리할 때 주문별로 판정하는 데 쓴다.
+   */
+  public boolean tryReserve(ProductQuantityMap quantities) {
+    int reservedCount = quantities.countWhile(reserveAction);
+    if (reservedCount < quantities.size()) {
+      quantities.forEachFirst(reservedCount, cancelAction);
+      return false;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      quantities.forEach(confirmAction);
+      return true;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        quantities.forEach(status == STATUS_COMMITTED ? confirmAction : cancelAction);
+      }
+    });
+    return true;
+  }
+
+  /**
+   * 취소/만료된 주문의 재고를 되돌린다. 트랜잭션 안에서 호출되면 커밋된 뒤에 반영한다.
+   */
+  public void release(Map<String, Integer> quantities) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      quantities.forEach(this::releaseQuantity);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        quantities.forEach(StockLedger.this::releaseQuantity);
+      }
+    });
+  }
+
+  public int getAvailableQuantity(String productNumber) {
+    Counter counter = counterOf(productCatalog.getDenseId(productNumber), productNumber);
+    return counter == null ? 0 : counter.available.get();
+  }
+
+  /**
+   * 커밋된 차감분을 상품별 순 변화량으로 모아서 한 트랜잭션으로 stock 테이블에 반영한다.
+   */
+  @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.flush-interval-ms:500}")
+  @PreDestroy
+  public void flush() {
+    Map<String, Counter> flushed = new TreeMap<>();
+    Map<String, Integer> deltas = new TreeMap<>();
+
+    AtomicReferenceArray<Counter> current = counters;
+    for (int denseId = 0; denseId < current.length(); denseId++) {
+      Counter counter = current.get(denseId);
+      if (counter == null) {
+        continue;
+      }
+      int delta = counter.pending.getAndSet(0);
+      if (delta != 0) {
+        flushed.put(counter.productNumber, counter);
+        deltas.put(counter.productNumber, delta);
+      }
+    }
+
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status ->
+          deltas.forEach(stockRepository::subtractQuantity));
+    } catch (RuntimeException e) {
+      // 다음 flush 때 다시 반영되도록 차감분을 되돌려 놓는다.
+      deltas.forEach((productNumber, delta) -> flushed.get(productNumber).pending.addAndGet(delta));
+      log.error("재고 원장 flush 실패 : {}", deltas.keySet(), e);
+    }
+  }
+
+  private boolean reserveQuantity(int denseId, String productNumber, int quantity) {
+    Counter counter = counterOf(denseId, productNumber);
+    return counter != null && counter.tryReserve(quantity);
+  }
+
+  // 예약에 성공한 상품만 확정/취소하므로 카운터가 항상 있다.
+  private void confirm(int denseId, String productNumber, int quantity) {
+    counters.get(denseId).confirm(quantity);
+  }
+
+  private void cancel(int denseId, String productNumber, int quantity) {
+    counters.get(denseId).cancel(quantity);
+  }
+
+  private void releaseQuantity(String productNumber, int quantity) {
+    Counter counter = counterOf(productCatalog.getDenseId(productNumber), productNumber);
+    if (counter == null) {
+      return;
+    }
+    counter.cancel(quantity);
+    counter.confirm(-quantity);
+  }
+
+  // 원장 적재 이후에 생성된 재고는 처음 조회될 때 한 번 읽어온다. 재고가 없는 상품은 캐싱하지 않는다.
+  // DB 조회는 잠금 밖에서 하고, 그 사이 먼저 등록된 카운터가 있으면 그것을 쓴다.
+  private Counter counterOf(int denseId, String productNumber) {
+    AtomicReferenceArray<Counter> current = counters;
+    if (denseId < current.length()) {
+      Counter counter = current.get(denseId);
+      if (counter != null) {
+        return counter;
+      }
+    }
+
+    List<Stock> stocks = stockRepository.findAllByProductNumberIn(List.of(productNumber));
+    if (stocks.isEmpty()) {
+      return null;
+    }
+    return registerIfAbsent(denseId, new Counter(productNumber, stocks.get(0).getQuantity()));
+  }
+
+  private synchronized Counter registerIfAbsent(int denseId, Counter counter) {
+    AtomicReferenceArray<Counter> current = counters;
+    if (denseId >= current.length()) {
+      AtomicReferenceArray<Counter> grown = new AtomicReferenceArray<>(
+          Math.max(current.length() * 2, denseId + 1));
+      for (int i = 0; i < current.length(); i++) {
+        grown.set(i, current.get(i));
+      }
+      counters = grown;
+      current = grown;
+    }
+
+    Counter existing = current.get(denseId);
+    if (existing != null) {
+      return existing;
+    }
+    current.set(denseId, counter);
+    return counter;
+  }
+
+  private static class Counter {
+
+    private final String productNumber;
+    private final AtomicInteger available;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private Counter(String productNumber, int quantity) {
+      this.productNumber = productNumber;
+      this.available = new AtomicInteger(quantity);
+    }
+
+    private boolean tryReserve(int quantity) {
+      while (true) {
+        int current = available.get();
+        if (current < quantity) {
+          return false;
+        }
+        if (available.compareAndSet(current, current - quantity)) {
+          return true;
+        }
+      }
+    }
+
+    private void confirm(int quantity) {
+      pending.addAndGet(quantity);
+    }
+
+    private void cancel(int quantity) {
+      available.addAndGet(quantity);
+    }
+  }
+}
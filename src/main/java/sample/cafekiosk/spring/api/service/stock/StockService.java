@@ -0,0 +1,106 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockService {
+
+  private final StockRepository stockRepository;
+  private final Optional<StockLedger> stockLedger;
+
+  /**
+   * 상품별 수량만큼 재고를 차감한다. 하나라도 부족하면 예외가 발생한다.
+   * <p>
+   * 재고 원장이 켜져 있으면 dense id 로 찾은 카운터에서 예약하고, 아니면 조건부 UPDATE 로 바로 차감한다.
+   */
+  public void deductQuantities(ProductQuantityMap quantities) {
+    if (stockLedger.isPresent()) {
+      stockLedger.get().reserve(quantities);
+      return;
+    }
+
+    // 상품번호 순으로 차감해서 동시 주문끼리 같은 순서로 row lock 을 잡도록 한다.
+    quantities.forEachInProductNumberOrder((denseId, productNumber, quantity) -> {
+      if (stockRepository.deductQuantity(productNumber, quantity) == 0) {
+        throw new IllegalStateException("재고가 부족한 상품이 있습니다.");
+      }
+    });
+  }
+
+  /**
+   * 여러 주문의 재고를 주문 순서대로 차감하고, 주문마다 차감했는지를 반환한다. 재고가 부족한 주문만 false 이고 나머지는 차감된다.
+   * <p>
+   * 재고 원장이 꺼져 있으면 전체 상품의 재고 row 를 상품번호 순으로 잠그고 읽은 뒤 주문별로 판정하고,
+   * 차감할 주문들의 합계를 조건부 UPDATE 로 한 번씩 반영한다. 잠근 수량 안에서만 차감하므로 동시 주문이 있어도 UPDATE 는 실패하지 않는다.
+   * 원장이 켜져 있으면 주문마다 원장에서 예약한다.
+   */
+  public boolean[] deductQuantitiesEach(List<ProductQuantityMap> orderQuantities) {
+    boolean[] deducted = new boolean[orderQuantities.size()];
+
+    if (stockLedger.isPresent()) {
+      for (int index = 0; index < orderQuantities.size(); index++) {
+        deducted[index] = stockLedger.get().tryReserve(orderQuantities.get(index));
+      }
+      return deducted;
+    }
+
+    TreeSet<String> productNumbers = new TreeSet<>();
+    orderQuantities.forEach(quantities -> quantities.forEach(
+        (denseId, productNumber, quantity) -> productNumbers.add(productNumber)));
+    if (productNumbers.isEmpty()) {
+      Arrays.fill(deducted, true);
+      return deducted;
+    }
+
+    Map<String, Integer> remainingStocks = stockRepository.findAllForUpdateByProductNumberIn(productNumbers)
+        .stream()
+        .collect(Collectors.toMap(Stock::getProductNumber, Stock::getQuantity));
+    ProductQuantityMap totalQuantities = new ProductQuantityMap(productNumbers.size());
+
+    for (int index = 0; index < orderQuantities.size(); index++) {
+      ProductQuantityMap quantities = orderQuantities.get(index);
+      if (!quantities.allMatch((denseId, productNumber, quantity) ->
+          remainingStocks.getOrDefault(productNumber, 0) >= quantity)) {
+        continue;
+      }
+
+      quantities.forEach((denseId, productNumber, quantity) -> {
+        remainingStocks.merge(productNumber, -quantity, Integer::sum);
+        totalQuantities.add(denseId, productNumber, quantity);
+      });
+      deducted[index] = true;
+    }
+
+    if (!totalQuantities.isEmpty()) {
+      deductQuantities(totalQuantities);
+    }
+    return deducted;
+  }
+
+  /**
+   * 상품번호별 수량만큼 재고를 되돌린다.
+   */
+  public void restoreQuantities(Map<String, Integer> quantities) {
+    if (stockLedger.isPresent()) {
+      stockLedger.get().release(quantities);
+      return;
+    }
+
+    for (Map.Entry<String, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+      stockRepository.addQuantity(entry.getKey(), entry.getValue());
+    }
+  }
+}
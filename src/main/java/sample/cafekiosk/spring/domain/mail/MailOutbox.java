@@ -0,0 +1,111 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 보낼 메일을 호출한 쪽의 트랜잭션에서 먼저 저장해 두는 outbox. 실제 전송은 MailOutboxDispatcher 가 한다.
+ * <p>
+ * nextAttemptDateTime 은 PENDING 이면 다음 전송 시각, SENDING 이면 선점 만료 시각이다.
+ * 전송 도중 인스턴스가 죽어도 선점이 만료되면 다시 가져간다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_mail_outbox_status_next_attempt_date_time",
+    columnList = "status, next_attempt_date_time"))
+@Entity
+public class MailOutbox extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_outbox_seq_generator")
+  @SequenceGenerator(name = "mail_outbox_seq_generator", sequenceName = "mail_outbox_seq", allocationSize = 50)
+  private Long id;
+
+  private String fromEmail;
+  private String toEmail;
+  private String subject;
+
+  // 매출 통계처럼 본문이 varchar 기본 길이(255)를 넘는 메일이 있다.
+  @Lob
+  private String content;
+
+  @Enumerated(EnumType.STRING)
+  private MailOutboxStatus status;
+
+  private int attemptCount;
+
+  private LocalDateTime nextAttemptDateTime;
+
+  private String lastError;
+
+  @Builder
+  private MailOutbox(String fromEmail, String toEmail, String subject, String content,
+      MailOutboxStatus status, LocalDateTime nextAttemptDateTime) {
+    this.fromEmail = fromEmail;
+    this.toEmail = toEmail;
+    this.subject = subject;
+    this.content = content;
+    this.status = status;
+    this.nextAttemptDateTime = nextAttemptDateTime;
+  }
+
+  public static MailOutbox create(String fromEmail, String toEmail, String subject, String content,
+      LocalDateTime now) {
+    return MailOutbox.builder()
+        .fromEmail(fromEmail)
+        .toEmail(toEmail)
+        .subject(subject)
+        .content(content)
+        .status(MailOutboxStatus.PENDING)
+        .nextAttemptDateTime(now)
+        .build();
+  }
+
+  /**
+   * 전송을 시작한다. leaseUntil 까지 결과가 기록되지 않으면 다른 dispatcher 가 다시 가져갈 수 있다.
+   */
+  public void claim(LocalDateTime leaseUntil) {
+    this.status = MailOutboxStatus.SENDING;
+    this.attemptCount++;
+    this.nextAttemptDateTime = leaseUntil;
+  }
+
+  public void sent() {
+    this.status = MailOutboxStatus.SENT;
+    this.lastError = null;
+  }
+
+  public void retryAt(LocalDateTime nextAttemptDateTime, String error) {
+    this.status = MailOutboxStatus.PENDING;
+    this.nextAttemptDateTime = nextAttemptDateTime;
+    this.lastError = error;
+  }
+
+  public void fail(String error) {
+    this.status = MailOutboxStatus.FAILED;
+    this.lastError = error;
+  }
+
+  public MailSendHistory toHistory() {
+    return MailSendHistory.builder()
+        .fromEmail(fromEmail)
+        .toEmail(toEmail)
+        .subject(subject)
+        .content(content)
+        .build();
+  }
+}
@@ -0,0 +1,31 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+  /**
+   * 전송할 차례가 된 PENDING 과 선점이 만료된 SENDING 메일을 오래된 순으로 잠근다.
+   * lock timeout -2(SKIP LOCKED) 이라 다른 dispatcher 가 잠근 행은 기다리지 않고 건너뛴다.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+  @Query("select m from MailOutbox m "
+      + "where m.status in (sample.cafekiosk.spring.domain.mail.MailOutboxStatus.PENDING, "
+      + "sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENDING) "
+      + "and m.nextAttemptDateTime <= :now "
+      + "order by m.nextAttemptDateTime")
+  List<MailOutbox> findAllForClaimBy(LocalDateTime now, Pageable pageable);
+
+}
@@ -0,0 +1,14 @@
+package sample.cafekiosk.spring.domain.order;
+
+/**
+ * 시간대별 주문 수와 매출 합계 projection
+ */
+public interface HourlyOrderSales {
+
+  int getSalesHour();
+
+  long getOrderCount();
+
+  long getTotalAmount();
+
+}
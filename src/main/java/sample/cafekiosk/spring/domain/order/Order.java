@@ -7,11 +7,15 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -20,15 +24,20 @@ import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.orderProduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "orders")
+@Table(name = "orders",
+    // 상태는 같음 조건, 등록 시간은 범위 조건이라 상태를 앞에 둔다.
+    indexes = @Index(name = "idx_orders_order_status_registered_date_time",
+        columnList = "order_status, registered_date_time"))
 @Entity
 public class Order extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+  @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
   private Long id;
 
   @Enumerated(EnumType.STRING)
@@ -46,9 +55,7 @@ public class Order extends BaseEntity {
     this.orderStatus = orderStatus;
     this.totalPrice = calculateTotalPrice(products);
     this.registeredDateTime = registeredDateTime;
-    this.orderProducts = products.stream()
-        .map(product -> new OrderProduct(this, product))
-        .collect(Collectors.toList());
+    this.orderProducts = createOrderProducts(products);
   }
 
   public static Order create(List<Product> products, LocalDateTime registeredDateTime) {
@@ -59,7 +66,51 @@ public class Order extends BaseEntity {
         .build();
   }
 
-  private static int calculateTotalPrice(List<Product> products) {
+  public void completePayment() {
+    changeStatusFromInit(OrderStatus.PAYMENT_COMPLETED);
+  }
+
+  public void failPayment() {
+    changeStatusFromInit(OrderStatus.PAYMENT_FAILED);
+  }
+
+  public void cancel() {
+    changeStatusFromInit(OrderStatus.CANCELED);
+  }
+
+  public boolean isInit() {
+    return orderStatus == OrderStatus.INIT;
+  }
+
+  /**
+   * 재고 관리 대상 상품들의 상품번호별 주문 수량
+   */
+  public Map<String, Integer> createStockQuantityMap() {
+    return orderProducts.stream()
+        .filter(orderProduct -> ProductType.containsStockType(orderProduct.getProduct().getType()))
+        .collect(Collectors.toMap(orderProduct -> orderProduct.getProduct().getProductNumber(),
+            OrderProduct::getQuantity, Integer::sum));
+  }
+
+  private void changeStatusFromInit(OrderStatus orderStatus) {
+    if (!isInit()) {
+      throw new IllegalStateException("결제 대기 중인 주문이 아닙니다.");
+    }
+    this.orderStatus = orderStatus;
+  }
+
+  // 같은 상품번호는 수량을 합쳐서 하나의 주문상품으로 만든다.
+  private List<OrderProduct> createOrderProducts(List<Product> products) {
+    Map<String, List<Product>> productGroups = products.stream()
+        .collect(Collectors.groupingBy(Product::getProductNumber, LinkedHashMap::new,
+            Collectors.toList()));
+
+    return productGroups.values().stream()
+        .map(group -> new OrderProduct(this, group.get(0), group.size()))
+        .collect(Collectors.toList());
+  }
+
+  static int calculateTotalPrice(List<Product> products) {
     return products.stream()
         .mapToInt(Product::getPrice)
         .sum();
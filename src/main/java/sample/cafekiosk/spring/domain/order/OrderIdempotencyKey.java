@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_key",
+    columnNames = "idempotency_key"))
+@Entity
+public class OrderIdempotencyKey extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_idempotency_key_seq_generator")
+  @SequenceGenerator(name = "order_idempotency_key_seq_generator", sequenceName = "order_idempotency_key_seq", allocationSize = 50)
+  private Long id;
+
+  private String idempotencyKey;
+
+  private Long orderId;
+
+  @Builder
+  private OrderIdempotencyKey(String idempotencyKey, Long orderId) {
+    this.idempotencyKey = idempotencyKey;
+    this.orderId = orderId;
+  }
+
+  public static OrderIdempotencyKey create(String idempotencyKey, Long orderId) {
+    return OrderIdempotencyKey.builder()
+        .idempotencyKey(idempotencyKey)
+        .orderId(orderId)
+        .build();
+  }
+}
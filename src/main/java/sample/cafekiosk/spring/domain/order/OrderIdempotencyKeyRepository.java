@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+  /**
+   * select * from order_idempotency_key where idempotency_key = ?;
+   */
+  Optional<OrderIdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+
+}
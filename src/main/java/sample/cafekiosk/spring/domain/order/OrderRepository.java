@@ -1,8 +1,11 @@
 package sample.cafekiosk.spring.domain.order;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,4 +16,31 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
   List<Order> findOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
       OrderStatus orderStatus);
 
+  /**
+   * 주문 엔티티를 읽지 않고 기간 내 주문 수와 매출 합계만 집계한다.
+   */
+  @Query("select count(o) as orderCount, coalesce(sum(o.totalPrice), 0) as totalAmount from Order o "
+      + "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime "
+      + "and o.orderStatus = :orderStatus")
+  OrderSales findSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+      OrderStatus orderStatus);
+
+  /**
+   * 주문 엔티티를 읽지 않고 시간대(0~23)별 주문 수와 매출 합계만 집계한다. 주문이 없는 시간대는 결과에 없다.
+   */
+  @Query("select extract(hour from o.registeredDateTime) as salesHour, count(o) as orderCount, "
+      + "sum(o.totalPrice) as totalAmount from Order o "
+      + "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime "
+      + "and o.orderStatus = :orderStatus "
+      + "group by extract(hour from o.registeredDateTime)")
+  List<HourlyOrderSales> findHourlySalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+      OrderStatus orderStatus);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select o from Order o where o.id in :ids")
+  List<Order> findAllForUpdateByIdIn(Collection<Long> ids);
+
+  @Query("select o.id from Order o where o.orderStatus = :orderStatus")
+  List<Long> findIdsByOrderStatus(OrderStatus orderStatus);
+
 }
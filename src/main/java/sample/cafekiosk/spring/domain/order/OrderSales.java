@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.order;
+
+/**
+ * 주문 수와 매출 합계 projection
+ */
+public interface OrderSales {
+
+  long getOrderCount();
+
+  long getTotalAmount();
+
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,8 @@ import sample.cafekiosk.spring.domain.product.Product;
 public class OrderProduct extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_product_seq_generator")
+  @SequenceGenerator(name = "order_product_seq_generator", sequenceName = "order_product_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -28,8 +30,19 @@ public class OrderProduct extends BaseEntity {
   @ManyToOne(fetch = FetchType.LAZY)
   private Product product;
 
-  public OrderProduct(Order order, Product product) {
+  private int quantity;
+
+  // 주문 시점의 상품 단가
+  private int price;
+
+  public OrderProduct(Order order, Product product, int quantity) {
     this.order = order;
     this.product = product;
+    this.quantity = quantity;
+    this.price = product.getPrice();
+  }
+
+  public int getTotalPrice() {
+    return price * quantity;
   }
 }
@@ -1,9 +1,43 @@
 package sample.cafekiosk.spring.domain.orderProduct;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 @Repository
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
 
+  /**
+   * 기간 내 주어진 상태 주문들의 상품별 판매 수량과 매출 합계. 매출이 큰 상품부터 반환한다.
+   */
+  @Query("select p.productNumber as productNumber, p.name as name, p.type as type, "
+      + "sum(op.quantity) as quantity, sum(op.price * op.quantity) as totalAmount "
+      + "from OrderProduct op join op.order o join op.product p "
+      + "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime "
+      + "and o.orderStatus = :orderStatus "
+      + "group by p.productNumber, p.name, p.type "
+      + "order by sum(op.price * op.quantity) desc, p.productNumber")
+  List<ProductSales> findProductSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+      OrderStatus orderStatus);
+
+  /**
+   * findProductSalesBy 와 같은 집계를 fetch size 만큼씩 읽는다. 트랜잭션 안에서 사용하고 다 쓰면 닫아야 한다.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select p.productNumber as productNumber, p.name as name, p.type as type, "
+      + "sum(op.quantity) as quantity, sum(op.price * op.quantity) as totalAmount "
+      + "from OrderProduct op join op.order o join op.product p "
+      + "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime "
+      + "and o.orderStatus = :orderStatus "
+      + "group by p.productNumber, p.name, p.type")
+  Stream<ProductSales> streamProductSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+      OrderStatus orderStatus);
+
 }
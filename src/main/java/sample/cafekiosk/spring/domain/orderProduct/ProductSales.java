@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.domain.orderProduct;
+
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 상품별 판매 수량과 매출 합계 projection. 매출은 주문 시점의 상품 단가로 계산한다.
+ */
+public interface ProductSales {
+
+  String getProductNumber();
+
+  String getName();
+
+  ProductType getType();
+
+  long getQuantity();
+
+  long getTotalAmount();
+
+}
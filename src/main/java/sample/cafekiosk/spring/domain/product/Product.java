@@ -6,6 +6,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,11 +18,17 @@ import sample.cafekiosk.spring.domain.BaseEntity;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number",
+        columnNames = "product_number"),
+    // 판매 상태 조회와 id 커서 페이지 조회를 같은 인덱스로 처리한다.
+    indexes = @Index(name = "idx_product_selling_status_id", columnList = "selling_status, id"))
 @Entity
 public class Product extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+  @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = 50)
   private Long id;
 
   private String productNumber;
@@ -45,4 +55,8 @@ public class Product extends BaseEntity {
     this.price = price;
   }
 
+  public void changeSellingStatus(ProductSellingStatus sellingStatus) {
+    this.sellingStatus = sellingStatus;
+  }
+
 }
@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 상품번호 발급 위치. 인스턴스마다 blockSize 만큼의 번호 구간을 예약해 가고, 구간 안에서는 DB 를 거치지 않고 발급한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ProductNumberSequence extends BaseEntity {
+
+  @Id
+  private String name;
+
+  private long nextValue;
+
+  @Builder
+  private ProductNumberSequence(String name, long nextValue) {
+    this.name = name;
+    this.nextValue = nextValue;
+  }
+
+  public static ProductNumberSequence create(String name, long nextValue) {
+    return ProductNumberSequence.builder()
+        .name(name)
+        .nextValue(nextValue)
+        .build();
+  }
+
+  /**
+   * [nextValue, nextValue + blockSize) 구간을 예약하고 구간의 시작 번호를 반환한다.
+   */
+  public long reserve(int blockSize) {
+    long start = nextValue;
+    nextValue += blockSize;
+    return start;
+  }
+}
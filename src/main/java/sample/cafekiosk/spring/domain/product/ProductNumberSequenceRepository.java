@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, String> {
+
+  /**
+   * select * from product_number_sequence where name = ? for update
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<ProductNumberSequence> findWithLockByName(String name);
+}
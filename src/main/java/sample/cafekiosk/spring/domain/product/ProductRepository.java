@@ -1,8 +1,14 @@
 package sample.cafekiosk.spring.domain.product;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,12 +19,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
    */
   List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingTypes);
 
+  /**
+   * select * from product where selling_status in(...) and id > ? order by id limit ?
+   */
+  List<Product> findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+      List<ProductSellingStatus> sellingTypes, Long id, Limit limit);
+
+  /**
+   * 전체 결과를 한 번에 올리지 않고 fetch size 만큼씩 읽는다. 트랜잭션 안에서 사용하고 다 쓰면 닫아야 한다.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select p from Product p where p.sellingStatus in :sellingTypes order by p.id")
+  Stream<Product> streamAllBySellingStatusIn(List<ProductSellingStatus> sellingTypes);
+
   /**
    * select * from product where product_number in('상품번호', '상품번호', '상품번호' ...);
    */
   List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
-  @Query(value = "select p.product_number from product p order by p.id desc limit 1",
+  /**
+   * select * from product where product_number = ?;
+   */
+  Optional<Product> findByProductNumber(String productNumber);
+
+  /**
+   * 상품번호는 숫자 문자열이라 1000 번부터는 문자열 비교로 최댓값을 구할 수 없다.
+   */
+  @Query(value = "select max(cast(p.product_number as integer)) from product p",
       nativeQuery = true)
-  String findLatestProductNumber();
+  Integer findMaxProductNumber();
 }
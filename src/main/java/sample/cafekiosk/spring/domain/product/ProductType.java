@@ -1,6 +1,7 @@
 package sample.cafekiosk.spring.domain.product;
 
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -12,9 +13,12 @@ public enum ProductType {
   BOTTLE("병 음료"),
   BAKERY("베이커리");
 
+  // 주문마다 호출되므로 매번 리스트를 만들지 않는다.
+  private static final Set<ProductType> STOCK_TYPES = EnumSet.of(BOTTLE, BAKERY);
+
   private final String text;
 
   public static boolean containsStockType(ProductType type) {
-    return List.of(BOTTLE, BAKERY).contains(type);
+    return type != null && STOCK_TYPES.contains(type);
   }
 }
@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 일자별 결제완료 주문 수와 매출 합계. 주문이 결제완료될 때마다 누적된다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class DailySales extends BaseEntity {
+
+  @Id
+  private LocalDate salesDate;
+
+  private long orderCount;
+
+  private long totalAmount;
+
+  @Builder
+  private DailySales(LocalDate salesDate, long orderCount, long totalAmount) {
+    this.salesDate = salesDate;
+    this.orderCount = orderCount;
+    this.totalAmount = totalAmount;
+  }
+
+  public static DailySales create(LocalDate salesDate, List<HourlySales> hourlySales) {
+    return DailySales.builder()
+        .salesDate(salesDate)
+        .orderCount(hourlySales.stream().mapToLong(HourlySales::getOrderCount).sum())
+        .totalAmount(hourlySales.stream().mapToLong(HourlySales::getTotalAmount).sum())
+        .build();
+  }
+}
@@ -0,0 +1,31 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import java.time.LocalDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+  /**
+   * update daily_sales
+   * set order_count = order_count + 1, total_amount = total_amount + :amount
+   * where sales_date = :salesDate;
+   *
+   * 집계 행이 아직 없으면 0을 반환한다.
+   */
+  @Transactional
+  @Modifying
+  @Query("update DailySales d set d.orderCount = d.orderCount + 1, d.totalAmount = d.totalAmount + :amount "
+      + "where d.salesDate = :salesDate")
+  int addOrder(LocalDate salesDate, long amount);
+
+  @Transactional
+  @Modifying
+  @Query("delete from DailySales d where d.salesDate = :salesDate")
+  int deleteBySalesDate(LocalDate salesDate);
+
+}
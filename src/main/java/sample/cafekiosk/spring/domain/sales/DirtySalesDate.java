@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 결제완료 시 집계 행이 없어서 매출 집계에 더하지 못한 날짜. 다시 계산하면 지운다.
+ * <p>
+ * 결제완료 트랜잭션에서 INSERT 만 하도록 날짜에 unique 제약을 두지 않는다. 같은 날짜가 여러 번 남을 수 있다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_dirty_sales_date_sales_date", columnList = "sales_date"))
+@Entity
+public class DirtySalesDate extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dirty_sales_date_seq_generator")
+  @SequenceGenerator(name = "dirty_sales_date_seq_generator", sequenceName = "dirty_sales_date_seq", allocationSize = 50)
+  private Long id;
+
+  private LocalDate salesDate;
+
+  @Builder
+  private DirtySalesDate(LocalDate salesDate) {
+    this.salesDate = salesDate;
+  }
+
+  public static DirtySalesDate create(LocalDate salesDate) {
+    return DirtySalesDate.builder()
+        .salesDate(salesDate)
+        .build();
+  }
+}
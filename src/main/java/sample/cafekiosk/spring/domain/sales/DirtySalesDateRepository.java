@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DirtySalesDateRepository extends JpaRepository<DirtySalesDate, Long> {
+
+  boolean existsBySalesDate(LocalDate salesDate);
+
+  @Query("select distinct d.salesDate from DirtySalesDate d order by d.salesDate")
+  List<LocalDate> findAllSalesDates();
+
+  @Transactional
+  @Modifying
+  @Query("delete from DirtySalesDate d where d.salesDate = :salesDate")
+  int deleteBySalesDate(LocalDate salesDate);
+
+}
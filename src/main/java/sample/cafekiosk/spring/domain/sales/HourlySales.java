@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 시간대별 결제완료 주문 수와 매출 합계. salesHour 는 정시로 자른 주문 등록 시간이다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class HourlySales extends BaseEntity {
+
+  @Id
+  private LocalDateTime salesHour;
+
+  private long orderCount;
+
+  private long totalAmount;
+
+  @Builder
+  private HourlySales(LocalDateTime salesHour, long orderCount, long totalAmount) {
+    this.salesHour = salesHour;
+    this.orderCount = orderCount;
+    this.totalAmount = totalAmount;
+  }
+
+  public static HourlySales create(LocalDateTime salesHour, long orderCount, long totalAmount) {
+    return HourlySales.builder()
+        .salesHour(salesHour)
+        .orderCount(orderCount)
+        .totalAmount(totalAmount)
+        .build();
+  }
+}
@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface HourlySalesRepository extends JpaRepository<HourlySales, LocalDateTime> {
+
+  List<HourlySales> findAllBySalesHourGreaterThanEqualAndSalesHourLessThanOrderBySalesHour(
+      LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+  /**
+   * update hourly_sales
+   * set order_count = order_count + 1, total_amount = total_amount + :amount
+   * where sales_hour = :salesHour;
+   */
+  @Transactional
+  @Modifying
+  @Query("update HourlySales h set h.orderCount = h.orderCount + 1, h.totalAmount = h.totalAmount + :amount "
+      + "where h.salesHour = :salesHour")
+  int addOrder(LocalDateTime salesHour, long amount);
+
+  @Transactional
+  @Modifying
+  @Query("delete from HourlySales h where h.salesHour >= :startDateTime and h.salesHour < :endDateTime")
+  int deleteBySalesHourBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+}
@@ -1,8 +1,14 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface StockRepository extends JpaRepository<Stock, Long> {
@@ -14,4 +20,55 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
    */
   List<Stock> findAllByProductNumberIn(List<String> productNumbers);
 
+  /**
+   * select *
+   * from stock
+   * where product_number in(원하는 상품번호)
+   * order by product_number
+   * for update;
+   *
+   * 동시 주문끼리 같은 순서로 row lock 을 잡도록 상품번호 순으로 잠근다.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+  List<Stock> findAllForUpdateByProductNumberIn(Collection<String> productNumbers);
+
+  /**
+   * update stock
+   * set quantity = quantity - :quantity
+   * where product_number = :productNumber and quantity >= :quantity;
+   *
+   * 엔티티를 조회하지 않고 조건부 UPDATE 한 번으로 재고를 차감한다.
+   * 재고가 부족하면 0을 반환한다.
+   */
+  @Transactional
+  @Modifying
+  @Query("update Stock s set s.quantity = s.quantity - :quantity "
+      + "where s.productNumber = :productNumber and s.quantity >= :quantity")
+  int deductQuantity(String productNumber, int quantity);
+
+  /**
+   * update stock
+   * set quantity = quantity - :quantity
+   * where product_number = :productNumber;
+   *
+   * 재고 원장(StockLedger)에서 이미 검증된 차감분을 반영할 때 사용한다.
+   */
+  @Transactional
+  @Modifying
+  @Query("update Stock s set s.quantity = s.quantity - :quantity "
+      + "where s.productNumber = :productNumber")
+  int subtractQuantity(String productNumber, int quantity);
+
+  /**
+   * update stock
+   * set quantity = quantity + :quantity
+   * where product_number = :productNumber;
+   */
+  @Transactional
+  @Modifying
+  @Query("update Stock s set s.quantity = s.quantity + :quantity "
+      + "where s.productNumber = :productNumber")
+  int addQuantity(String productNumber, int quantity);
+
 }
@@ -0,0 +1,186 @@
+package sample.cafekiosk.spring.perf;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.stock.StockLedger;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 스프링 컨텍스트 안에서 같은 재고 row 에 동시 주문을 몰아 넣고 재고 차감 방식의 경합 비용과 정합성을 측정한다.
+ * <p>
+ * 처리량, 주문당 p50/p99/max 지연, 초과 판매 수, lock 실패(deadlock, lock timeout)와 재시도 횟수를 출력한다.
+ * 초과 판매가 있거나 남은 재고가 (초기 재고 - 성공 주문 수)와 다르면 0 이 아닌 코드로 종료하므로,
+ * 재고 차감 방식을 바꿀 때 바꾸기 전과 같은 조건으로 실행해서 비교한다.
+ * <pre>
+ * ./gradlew stockContentionHarness -PharnessArgs="--harness.threads=64 --harness.orders=2000 --harness.stock=1000"
+ * ./gradlew stockContentionHarness -PharnessArgs="--cafekiosk.stock.ledger.enabled=true"
+ * </pre>
+ */
+public class StockContentionHarness {
+
+  private static final String PRODUCT_NUMBER = "900";
+
+  public static void main(String[] args) throws Exception {
+    // 실행 인자로 넘긴 값이 기본값보다 우선한다.
+    SpringApplication application = new SpringApplication(CafeKioskApplication.class);
+    application.setWebApplicationType(WebApplicationType.NONE);
+    application.setDefaultProperties(Map.of(
+        "spring.jpa.hibernate.ddl-auto", "create",
+        "spring.jpa.show-sql", "false",
+        "spring.jpa.properties.hibernate.format_sql", "false",
+        "spring.sql.init.mode", "never"));
+
+    ConfigurableApplicationContext context = application.run(args);
+    Environment environment = context.getEnvironment();
+    int threads = environment.getProperty("harness.threads", Integer.class, 64);
+    int orders = environment.getProperty("harness.orders", Integer.class, 2000);
+    int initialStock = environment.getProperty("harness.stock", Integer.class, 1000);
+    int maxRetries = environment.getProperty("harness.max-retries", Integer.class, 3);
+
+    StockRepository stockRepository = context.getBean(StockRepository.class);
+    context.getBean(ProductRepository.class).save(Product.builder()
+        .productNumber(PRODUCT_NUMBER)
+        .type(ProductType.BOTTLE)
+        .sellingStatus(ProductSellingStatus.SELLING)
+        .name("경합 측정용 상품")
+        .price(1000)
+        .build());
+    stockRepository.save(Stock.create(PRODUCT_NUMBER, initialStock));
+
+    Result result = run(context.getBean(OrderService.class), threads, orders, maxRetries);
+
+    // 원장 모드에서는 차감분이 아직 stock 테이블에 반영되지 않았을 수 있다.
+    context.getBeanProvider(StockLedger.class).ifAvailable(StockLedger::flush);
+    int remainingStock = stockRepository.findAllByProductNumberIn(List.of(PRODUCT_NUMBER))
+        .get(0).getQuantity();
+
+    int oversold = Math.max(result.succeeded.get() - initialStock, 0) + Math.max(-remainingStock, 0);
+    boolean consistent = remainingStock == initialStock - result.succeeded.get();
+    print(threads, orders, initialStock, remainingStock, oversold, consistent, result);
+
+    int exitCode = oversold == 0 && consistent ? 0 : 1;
+    System.exit(SpringApplication.exit(context, () -> exitCode));
+  }
+
+  private static Result run(OrderService orderService, int threads, int orders, int maxRetries)
+      throws InterruptedException {
+    OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+        .productNumbers(List.of(PRODUCT_NUMBER))
+        .build();
+
+    Result result = new Result(orders);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch startGate = new CountDownLatch(1);
+
+    for (int i = 0; i < orders; i++) {
+      int index = i;
+      executor.submit(() -> {
+        startGate.await();
+        long start = System.nanoTime();
+        order(orderService, request, maxRetries, result);
+        result.latencies[index] = System.nanoTime() - start;
+        return null;
+      });
+    }
+
+    long start = System.nanoTime();
+    startGate.countDown();
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.HOURS);
+    result.elapsedNanos = System.nanoTime() - start;
+
+    return result;
+  }
+
+  // lock 획득 실패(deadlock, lock timeout)는 최대 maxRetries 번까지 다시 시도한다.
+  private static void order(OrderService orderService, OrderCreateServiceRequest request,
+      int maxRetries, Result result) {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        orderService.createOrder(request, LocalDateTime.now());
+        result.succeeded.incrementAndGet();
+        return;
+      } catch (IllegalStateException e) {
+        result.soldOut.increment();
+        return;
+      } catch (ConcurrencyFailureException e) {
+        if (e instanceof PessimisticLockingFailureException) {
+          result.deadlocks.increment();
+        }
+        result.lockFailures.increment();
+        if (attempt == maxRetries) {
+          result.errors.increment();
+          return;
+        }
+        result.retries.increment();
+      } catch (RuntimeException e) {
+        result.errors.increment();
+        return;
+      }
+    }
+  }
+
+  private static void print(int threads, int orders, int initialStock, int remainingStock,
+      int oversold, boolean consistent, Result result) {
+    long[] latencies = result.latencies.clone();
+    Arrays.sort(latencies);
+
+    System.out.printf("threads=%d orders=%d stock=%d%n", threads, orders, initialStock);
+    System.out.printf("throughput      : %.1f orders/s%n",
+        orders / (result.elapsedNanos / 1_000_000_000.0));
+    System.out.printf("latency (ms)    : p50=%.2f p99=%.2f max=%.2f%n",
+        percentile(latencies, 0.50), percentile(latencies, 0.99),
+        latencies[latencies.length - 1] / 1_000_000.0);
+    System.out.printf("succeeded       : %d%n", result.succeeded.get());
+    System.out.printf("sold out        : %d%n", result.soldOut.sum());
+    System.out.printf("lock failures   : %d (deadlock/lock timeout %d), retries %d%n",
+        result.lockFailures.sum(), result.deadlocks.sum(), result.retries.sum());
+    System.out.printf("errors          : %d%n", result.errors.sum());
+    System.out.printf("remaining stock : %d%n", remainingStock);
+    System.out.printf("oversold        : %d%n", oversold);
+    System.out.printf("consistent      : %s%n", consistent);
+  }
+
+  private static double percentile(long[] sortedLatencies, double percentile) {
+    int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  private static class Result {
+
+    private final long[] latencies;
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder lockFailures = new LongAdder();
+    private final LongAdder deadlocks = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private long elapsedNanos;
+
+    private Result(int orders) {
+      this.latencies = new long[orders];
+    }
+  }
+}
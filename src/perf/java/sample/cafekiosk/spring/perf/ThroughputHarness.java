@@ -0,0 +1,141 @@
+package sample.cafekiosk.spring.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 실행 중인 서버에 createOrder, getSellingProducts 부하를 걸어 처리량과 지연 시간을 측정한다.
+ * <p>
+ * 동시 요청 수를 단계별로 올려 가며 각 단계의 처리량(req/s)과 p50/p99/max 지연을 출력한다.
+ * 가장 높은 처리량이 그 모드의 최대 처리량이다. 두 모드를 비교하려면 서버를 각각 띄워 같은 조건으로 실행한다.
+ * <pre>
+ * ./gradlew bootRun                    # platform thread
+ * ./gradlew bootRun -PvirtualThreads   # virtual thread (Java 21)
+ * ./gradlew perfHarness -Pconcurrency=16,64,256 -PdurationSeconds=30
+ * </pre>
+ */
+public class ThroughputHarness {
+
+  private static final String CREATE_ORDER_BODY = "{\"productNumbers\":[\"001\"]}";
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+    int[] concurrencies = Arrays.stream((args.length > 1 ? args[1] : "16,64,256").split(","))
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+    HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    Supplier<HttpRequest> createOrder = () -> HttpRequest.newBuilder()
+        .uri(URI.create(baseUrl + "/api/v1/orders/new"))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(CREATE_ORDER_BODY))
+        .build();
+    Supplier<HttpRequest> getSellingProducts = () -> HttpRequest.newBuilder()
+        .uri(URI.create(baseUrl + "/api/v1/products/selling"))
+        .GET()
+        .build();
+
+    System.out.printf("%-20s %12s %12s %10s %10s %10s %8s%n",
+        "scenario", "concurrency", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+
+    for (int concurrency : concurrencies) {
+      print("createOrder", concurrency, run(client, createOrder, concurrency, duration));
+      print("getSellingProducts", concurrency, run(client, getSellingProducts, concurrency, duration));
+    }
+  }
+
+  // 동시 요청 수만큼의 워커가 주어진 시간 동안 응답을 받는 즉시 다음 요청을 보낸다(closed loop).
+  private static Result run(HttpClient client, Supplier<HttpRequest> request, int concurrency,
+      Duration duration) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    long deadline = System.nanoTime() + duration.toNanos();
+
+    List<Future<Result>> futures = new ArrayList<>();
+    for (int i = 0; i < concurrency; i++) {
+      futures.add(executor.submit(() -> {
+        Result result = new Result();
+        while (System.nanoTime() < deadline) {
+          long start = System.nanoTime();
+          try {
+            int status = client.send(request.get(), BodyHandlers.discarding()).statusCode();
+            if (status >= 400) {
+              result.errors++;
+            }
+          } catch (Exception e) {
+            result.errors++;
+          }
+          result.add(System.nanoTime() - start);
+        }
+        return result;
+      }));
+    }
+
+    Result total = new Result();
+    for (Future<Result> future : futures) {
+      total.merge(future.get());
+    }
+    executor.shutdown();
+
+    total.elapsedNanos = duration.toNanos();
+    return total;
+  }
+
+  private static void print(String scenario, int concurrency, Result result) {
+    long[] latencies = Arrays.copyOf(result.latencies, result.count);
+    Arrays.sort(latencies);
+
+    System.out.printf("%-20s %12d %12.1f %10.2f %10.2f %10.2f %8d%n",
+        scenario,
+        concurrency,
+        result.count / (result.elapsedNanos / 1_000_000_000.0),
+        percentile(latencies, 0.50),
+        percentile(latencies, 0.99),
+        latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000_000.0,
+        result.errors);
+  }
+
+  private static double percentile(long[] sortedLatencies, double percentile) {
+    if (sortedLatencies.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  private static class Result {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long elapsedNanos;
+
+    private void add(long latencyNanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latencyNanos;
+    }
+
+    private void merge(Result other) {
+      for (int i = 0; i < other.count; i++) {
+        add(other.latencies[i]);
+      }
+      errors += other.errors;
+    }
+  }
+}
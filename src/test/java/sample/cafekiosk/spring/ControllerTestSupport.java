@@ -8,14 +8,20 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import sample.cafekiosk.spring.api.controller.order.OrderController;
 import sample.cafekiosk.spring.api.controller.product.ProductController;
+import sample.cafekiosk.spring.api.controller.sales.SalesController;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.sales.BestSellerTracker;
+import sample.cafekiosk.spring.api.service.sales.LiveSalesCounter;
+import sample.cafekiosk.spring.api.service.sales.SalesReportService;
 
 @ActiveProfiles("test")
 @WebMvcTest(controllers =
     {
         ProductController.class,
-        OrderController.class
+        OrderController.class,
+        SalesController.class
     })
 public abstract class ControllerTestSupport {
 
@@ -30,4 +36,16 @@ public abstract class ControllerTestSupport {
 
   @MockBean
   protected ProductService productService;
+
+  @MockBean
+  protected ProductImportService productImportService;
+
+  @MockBean
+  protected LiveSalesCounter liveSalesCounter;
+
+  @MockBean
+  protected SalesReportService salesReportService;
+
+  @MockBean
+  protected BestSellerTracker bestSellerTracker;
 }
@@ -1,8 +1,12 @@
 package sample.cafekiosk.spring;
 
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.ProductCatalog;
+import sample.cafekiosk.spring.api.service.product.ProductSearchIndex;
 import sample.cafekiosk.spring.client.MailSendClient;
 
 @ActiveProfiles("test")
@@ -12,4 +16,17 @@ public abstract class IntegrationTestSupport {
   @MockBean
   protected MailSendClient mailSendClient;
 
+  @Autowired
+  protected ProductCatalog productCatalog;
+
+  @Autowired
+  protected ProductSearchIndex productSearchIndex;
+
+  // 테스트마다 상품을 지우고 다시 만들기 때문에 캐시된 상품도 함께 비운다.
+  @AfterEach
+  void clearProductCaches() {
+    productCatalog.invalidateAll();
+    productSearchIndex.clear();
+  }
+
 }
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비(prepare)하는 SQL 을 기록한다. batch 로 묶인 insert 는 한 번만 기록된다.
+ * <p>
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector 로 등록해서 사용한다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+  private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+  @Override
+  public String inspect(String sql) {
+    statements.add(sql);
+    return sql;
+  }
+
+  public static void clear() {
+    statements.clear();
+  }
+
+  // 시퀀스 조회는 pooled 전략에서 50건마다 한 번이라 제외한다.
+  public static List<String> getStatements() {
+    return statements.stream()
+        .filter(sql -> !sql.toLowerCase().contains("next value for"))
+        .toList();
+  }
+}
@@ -1,16 +1,22 @@
 package sample.cafekiosk.spring.api.controller.order;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
 
 class OrderControllerTest extends ControllerTestSupport {
 
@@ -36,6 +42,29 @@ class OrderControllerTest extends ControllerTestSupport {
         .andExpect(jsonPath("$.message").value("OK"));
   }
 
+  @Test
+  @DisplayName("Idempotency-Key 헤더와 함께 신규 주문을 등록한다.")
+  void createOrderWithIdempotencyKey() throws Exception {
+    // given
+    OrderCreateRequest request = OrderCreateRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+
+    // when
+    mockMvc.perform(
+            post("/api/v1/orders/new")
+                .header("Idempotency-Key", "order-retry-key")
+                .content(mapper.writeValueAsString(request))
+                .contentType(APPLICATION_JSON)
+        )
+        .andDo(print())
+        .andExpect(status().isOk());
+
+    // then
+    verify(orderService).createOrder(any(OrderCreateServiceRequest.class),
+        any(LocalDateTime.class), eq("order-retry-key"));
+  }
+
   @Test
   @DisplayName("신규 주문을 등록할 때 상품번호는 1개 이상이어야 한다.")
   void createOrderWithEmptyProductNumbers() throws Exception {
@@ -58,4 +87,52 @@ class OrderControllerTest extends ControllerTestSupport {
         .andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."))
         .andExpect(jsonPath("$.data").isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("여러 주문을 한 번에 등록한다.")
+  void createOrders() throws Exception {
+    // given
+    OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+        .orders(List.of(
+            OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+            OrderCreateRequest.builder().productNumbers(List.of("001", "002")).build()
+        ))
+        .build();
+
+    // when
+    // then
+    mockMvc.perform(
+            post("/api/v1/orders/batch")
+                .content(mapper.writeValueAsString(request))
+                .contentType(APPLICATION_JSON)
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.status").value("OK"))
+        .andExpect(jsonPath("$.message").value("OK"));
+  }
+
+  @Test
+  @DisplayName("여러 주문을 한 번에 등록할 때 주문 리스트는 1개 이상이어야 한다.")
+  void createOrdersWithEmptyOrders() throws Exception {
+    // given
+    OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+        .orders(List.of())
+        .build();
+
+    // when
+    // then
+    mockMvc.perform(
+            post("/api/v1/orders/batch")
+                .content(mapper.writeValueAsString(request))
+                .contentType(APPLICATION_JSON)
+        )
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("400"))
+        .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+        .andExpect(jsonPath("$.message").value("주문 리스트는 필수입니다."))
+        .andExpect(jsonPath("$.data").isEmpty());
+  }
+}
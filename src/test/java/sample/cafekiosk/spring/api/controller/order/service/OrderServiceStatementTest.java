@@ -0,0 +1,82 @@
+package sample.cafekiosk.spring.api.controller.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.SqlStatementCounter;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=sample.cafekiosk.spring.SqlStatementCounter")
+class OrderServiceStatementTest extends IntegrationTestSupport {
+
+  @Autowired
+  OrderService orderService;
+
+  @Autowired
+  OrderRepository orderRepository;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  OrderProductRepository orderProductRepository;
+
+  @AfterEach
+  void tearDown() {
+    orderProductRepository.deleteAllInBatch();
+    productRepository.deleteAllInBatch();
+    orderRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("상품 10개 주문은 상품 조회 없이(카탈로그) 주문 insert 1번, 주문상품 insert 1번(batch)으로 처리한다.")
+  void createOrderStatementCount() {
+    // given
+    List<Product> products = IntStream.rangeClosed(1, 10)
+        .mapToObj(i -> createProduct(String.format("%03d", i), 1000 * i))
+        .toList();
+    productRepository.saveAll(products);
+
+    OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+        .productNumbers(products.stream().map(Product::getProductNumber).toList())
+        .build();
+
+    // 시퀀스 블록을 미리 할당받고 상품을 카탈로그에 적재해 둔다.
+    orderService.createOrder(request, LocalDateTime.now());
+    SqlStatementCounter.clear();
+
+    // when
+    orderService.createOrder(request, LocalDateTime.now());
+
+    // then
+    List<String> statements = SqlStatementCounter.getStatements();
+    assertThat(statements).hasSize(2)
+        .allMatch(sql -> sql.toLowerCase().startsWith("insert"));
+  }
+
+  private Product createProduct(String productNumber, int price) {
+    return Product.builder()
+        .productNumber(productNumber)
+        .type(HANDMADE)
+        .sellingStatus(SELLING)
+        .name("메뉴 이름")
+        .price(price)
+        .build();
+  }
+}
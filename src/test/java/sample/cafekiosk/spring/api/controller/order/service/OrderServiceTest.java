@@ -8,8 +8,15 @@ import static sample.cafekiosk.spring.domain.product.ProductType.BAKERY;
 import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,12 +24,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.reservation.OrderReservationService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchItemResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDateRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
 import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
 
@@ -43,8 +58,27 @@ class OrderServiceTest extends IntegrationTestSupport {
   @Autowired
   StockRepository stockRepository;
 
+  @Autowired
+  OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+  @Autowired
+  OrderReservationService orderReservationService;
+
+  @Autowired
+  DailySalesRepository dailySalesRepository;
+
+  @Autowired
+  HourlySalesRepository hourlySalesRepository;
+
+  @Autowired
+  DirtySalesDateRepository dirtySalesDateRepository;
+
   @AfterEach
   void tearDown() {
+    dailySalesRepository.deleteAllInBatch();
+    hourlySalesRepository.deleteAllInBatch();
+    dirtySalesDateRepository.deleteAllInBatch();
+    orderIdempotencyKeyRepository.deleteAllInBatch();
     orderProductRepository.deleteAllInBatch();
     productRepository.deleteAllInBatch();
     orderRepository.deleteAllInBatch();
@@ -106,11 +140,10 @@ class OrderServiceTest extends IntegrationTestSupport {
     assertThat(orderResponse)
         .extracting("registeredDateTime", "totalPrice")
         .contains(registeredDateTime, 2000);
-    assertThat(orderResponse.getProducts()).hasSize(2)
-        .extracting("productNumber", "price")
+    assertThat(orderResponse.getProducts()).hasSize(1)
+        .extracting("productNumber", "price", "quantity")
         .containsExactlyInAnyOrder(
-            tuple("001", 1000),
-            tuple("001", 1000)
+            tuple("001", 1000, 2)
         );
 
 
@@ -143,13 +176,12 @@ class OrderServiceTest extends IntegrationTestSupport {
     assertThat(orderResponse)
         .extracting("registeredDateTime", "totalPrice")
         .contains(registeredDateTime, 10000);
-    assertThat(orderResponse.getProducts()).hasSize(4)
-        .extracting("productNumber", "price")
+    assertThat(orderResponse.getProducts()).hasSize(3)
+        .extracting("productNumber", "price", "quantity")
         .containsExactlyInAnyOrder(
-            tuple("001", 1000),
-            tuple("001", 1000),
-            tuple("002", 3000),
-            tuple("003", 5000)
+            tuple("001", 1000, 2),
+            tuple("002", 3000, 1),
+            tuple("003", 5000, 1)
         );
 
     List<Stock> stocks = stockRepository.findAll();
@@ -188,6 +220,230 @@ class OrderServiceTest extends IntegrationTestSupport {
         .hasMessage("재고가 부족한 상품이 있습니다.");
   }
 
+  @Test
+  @DisplayName("같은 Idempotency-Key 로 재시도하면 재고를 다시 차감하지 않고 처음 주문을 반환한다.")
+  void createOrderWithIdempotencyKey() {
+    // given
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    Product product1 = createProduct(BOTTLE, "001", 1000);
+    productRepository.save(product1);
+
+    Stock stock1 = Stock.create("001", 2);
+    stockRepository.save(stock1);
+
+    OrderCreateRequest request = OrderCreateRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+    String idempotencyKey = "order-retry-key";
+
+    // when
+    OrderResponse firstResponse = orderService.createOrder(request.toServiceRequest(),
+        registeredDateTime, idempotencyKey);
+    OrderResponse retriedResponse = orderService.createOrder(request.toServiceRequest(),
+        registeredDateTime, idempotencyKey);
+
+    // then
+    assertThat(retriedResponse.getId()).isEqualTo(firstResponse.getId());
+    assertThat(orderRepository.findAll()).hasSize(1);
+
+    List<Stock> stocks = stockRepository.findAll();
+    assertThat(stocks).hasSize(1)
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("001", 1));
+  }
+
+  @Test
+  @DisplayName("같은 Idempotency-Key 로 동시에 주문하면 주문은 한 번만 생성되고 모두 같은 주문 응답을 받는다.")
+  void createOrderWithIdempotencyKeyConcurrently() throws Exception {
+    // given
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    Product product1 = createProduct(BOTTLE, "001", 1000);
+    productRepository.save(product1);
+
+    Stock stock1 = Stock.create("001", 2);
+    stockRepository.save(stock1);
+
+    OrderCreateRequest request = OrderCreateRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+    String idempotencyKey = "order-race-key";
+
+    int threadCount = 2;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    List<Future<OrderResponse>> futures = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      futures.add(executorService.submit(() -> {
+        startLatch.await();
+        return orderService.createOrder(request.toServiceRequest(), registeredDateTime, idempotencyKey);
+      }));
+    }
+    startLatch.countDown();
+
+    List<Long> orderIds = new ArrayList<>();
+    for (Future<OrderResponse> future : futures) {
+      orderIds.add(future.get(10, TimeUnit.SECONDS).getId());
+    }
+    executorService.shutdown();
+
+    // then
+    assertThat(orderIds).hasSize(threadCount).containsOnly(orderIds.get(0));
+    assertThat(orderRepository.findAll()).hasSize(1);
+
+    List<Stock> stocks = stockRepository.findAll();
+    assertThat(stocks).hasSize(1)
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("001", 1));
+  }
+
+  @Test
+  @DisplayName("여러 주문을 한 번에 생성하고, 재고가 부족하거나 상품이 없는 주문만 실패한다.")
+  void createOrders() {
+    // given
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    Product product1 = createProduct(BOTTLE, "001", 1000);
+    Product product2 = createProduct(BAKERY, "002", 3000);
+    Product product3 = createProduct(HANDMADE, "003", 5000);
+    productRepository.saveAll(List.of(product1, product2, product3));
+
+    Stock stock1 = Stock.create("001", 2);
+    Stock stock2 = Stock.create("002", 2);
+    stockRepository.saveAll(List.of(stock1, stock2));
+
+    List<OrderCreateServiceRequest> requests = List.of(
+        OrderCreateServiceRequest.builder().productNumbers(List.of("001", "003")).build(),
+        OrderCreateServiceRequest.builder().productNumbers(List.of("001", "001")).build(),
+        OrderCreateServiceRequest.builder().productNumbers(List.of("002", "999")).build(),
+        OrderCreateServiceRequest.builder().productNumbers(List.of("001", "002")).build()
+    );
+
+    // when
+    List<OrderBatchItemResponse> responses = orderService.createOrders(requests, registeredDateTime);
+
+    // then
+    assertThat(responses).hasSize(4)
+        .extracting("index", "success", "message")
+        .containsExactly(
+            tuple(0, true, null),
+            tuple(1, false, "재고가 부족한 상품이 있습니다."),
+            tuple(2, false, "존재하지 않는 상품이 있습니다."),
+            tuple(3, true, null)
+        );
+    assertThat(responses.get(0).getOrder())
+        .extracting("registeredDateTime", "totalPrice")
+        .contains(registeredDateTime, 6000);
+    assertThat(responses.get(3).getOrder().getId()).isNotNull();
+
+    assertThat(orderRepository.findAll()).hasSize(2);
+
+    List<Stock> stocks = stockRepository.findAll();
+    assertThat(stocks).hasSize(2)
+        .extracting("productNumber", "quantity")
+        .containsExactlyInAnyOrder(
+            tuple("001", 0),
+            tuple("002", 1)
+        );
+  }
+
+  @Test
+  @DisplayName("결제 대기 중인 주문을 취소하면 차감했던 재고를 되돌린다.")
+  void cancelOrder() {
+    // given
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    Product product1 = createProduct(BOTTLE, "001", 1000);
+    Product product2 = createProduct(HANDMADE, "002", 5000);
+    productRepository.saveAll(List.of(product1, product2));
+
+    Stock stock = Stock.create("001", 2);
+    stockRepository.save(stock);
+
+    OrderCreateRequest request = OrderCreateRequest.builder()
+        .productNumbers(List.of("001", "001", "002"))
+        .build();
+    OrderResponse orderResponse = orderService.createOrder(request.toServiceRequest(), registeredDateTime);
+
+    // when
+    OrderResponse canceledResponse = orderService.cancelOrder(orderResponse.getId());
+
+    // then
+    assertThat(canceledResponse.getOrderStatus()).isEqualByComparingTo(OrderStatus.CANCELED);
+
+    List<Stock> stocks = stockRepository.findAll();
+    assertThat(stocks).hasSize(1)
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("001", 2));
+  }
+
+  @Test
+  @DisplayName("결제가 완료된 주문은 결제 실패로 바꿀 수 없고 재고도 되돌리지 않는다.")
+  void failPaymentAfterCompletePayment() {
+    // given
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    Product product = createProduct(BOTTLE, "001", 1000);
+    productRepository.save(product);
+
+    Stock stock = Stock.create("001", 2);
+    stockRepository.save(stock);
+
+    OrderCreateRequest request = OrderCreateRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+    OrderResponse orderResponse = orderService.createOrder(request.toServiceRequest(), registeredDateTime);
+    orderService.completePayment(orderResponse.getId());
+
+    // when
+    // then
+    assertThatThrownBy(() -> orderService.failPayment(orderResponse.getId()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("결제 대기 중인 주문이 아닙니다.");
+
+    assertThat(stockRepository.findAll())
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("001", 1));
+  }
+
+  @Test
+  @DisplayName("예약 시간 안에 결제되지 않은 주문은 취소되고 재고가 되돌아온다. 결제된 주문은 그대로 둔다.")
+  void expireReservations() {
+    // given
+    LocalDateTime registeredDateTime = LocalDateTime.now();
+
+    Product product = createProduct(BOTTLE, "001", 1000);
+    productRepository.save(product);
+
+    Stock stock = Stock.create("001", 3);
+    stockRepository.save(stock);
+
+    OrderCreateRequest request = OrderCreateRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+    OrderResponse unpaidOrder = orderService.createOrder(request.toServiceRequest(), registeredDateTime);
+    OrderResponse paidOrder = orderService.createOrder(request.toServiceRequest(), registeredDateTime);
+    orderService.completePayment(paidOrder.getId());
+
+    // when
+    orderReservationService.expire(System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+
+    // then
+    assertThat(orderRepository.findAll())
+        .extracting("id", "orderStatus")
+        .containsExactlyInAnyOrder(
+            tuple(unpaidOrder.getId(), OrderStatus.CANCELED),
+            tuple(paidOrder.getId(), OrderStatus.PAYMENT_COMPLETED)
+        );
+
+    assertThat(stockRepository.findAll())
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("001", 2));
+  }
+
   private Product createProduct(ProductType type, String productNumber, int price) {
     return Product.builder()
         .productNumber(productNumber)
@@ -1,24 +1,35 @@
 package sample.cafekiosk.spring.api.controller.product;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSellingStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsSnapshot;
 
 class ProductControllerTest extends ControllerTestSupport {
 
@@ -164,10 +175,11 @@ class ProductControllerTest extends ControllerTestSupport {
   @DisplayName("판매 상품을 조회한다.")
   void getSellingProduct() throws Exception {
     // given
-    List<ProductResponse> result = List.of();
+    SellingProductsSnapshot snapshot = SellingProductsSnapshot.of(1,
+        mapper.writeValueAsBytes(ApiResponse.ok(List.<ProductResponse>of())));
 
-    // 프로덕스 서비스 함수를 호출하고 결과로 빈값을 반환 받는다.
-    when(productService.getSellingProducts()).thenReturn(result);
+    // 미리 직렬화된 빈 상품 목록 응답을 반환 받는다.
+    when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
 
     // when
     // then
@@ -177,9 +189,181 @@ class ProductControllerTest extends ControllerTestSupport {
         )
         .andDo(print())
         .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, snapshot.getEtag()))
         .andExpect(jsonPath("$.code").value("200"))
         .andExpect(jsonPath("$.status").value("OK"))
         .andExpect(jsonPath("$.message").value("OK"))
         .andExpect(jsonPath("$.data").isArray());
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("판매 상품 조회 시 If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 응답한다.")
+  void getSellingProductNotModified() throws Exception {
+    // given
+    SellingProductsSnapshot snapshot = SellingProductsSnapshot.of(1,
+        mapper.writeValueAsBytes(ApiResponse.ok(List.<ProductResponse>of())));
+    when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/products/selling")
+                .header(HttpHeaders.IF_NONE_MATCH, snapshot.getEtag())
+        )
+        .andDo(print())
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  @DisplayName("판매 상품 조회 시 gzip 을 받을 수 있으면 압축된 응답을 내려준다.")
+  void getSellingProductWithGzip() throws Exception {
+    // given
+    SellingProductsSnapshot snapshot = SellingProductsSnapshot.of(1,
+        mapper.writeValueAsBytes(ApiResponse.ok(List.<ProductResponse>of())));
+    when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/products/selling")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(content().bytes(snapshot.getGzipBody()));
+  }
+
+  @Test
+  @DisplayName("판매 상품 조회 시 gzip;q=0 으로 gzip 을 거절하면 압축하지 않은 응답을 내려준다.")
+  void getSellingProductWithGzipRefused() throws Exception {
+    // given
+    SellingProductsSnapshot snapshot = SellingProductsSnapshot.of(1,
+        mapper.writeValueAsBytes(ApiResponse.ok(List.<ProductResponse>of())));
+    when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/products/selling")
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0, *;q=0.5")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(content().bytes(snapshot.getBody()));
+  }
+
+  @Test
+  @DisplayName("Accept-Encoding 의 q 값으로 gzip 허용 여부를 판단한다.")
+  void acceptsGzip() {
+    assertThat(ProductController.acceptsGzip(null)).isFalse();
+    assertThat(ProductController.acceptsGzip("gzip")).isTrue();
+    assertThat(ProductController.acceptsGzip("br, GZIP;q=0.8")).isTrue();
+    assertThat(ProductController.acceptsGzip("gzip;q=0")).isFalse();
+    assertThat(ProductController.acceptsGzip("gzip; q=0.000")).isFalse();
+    assertThat(ProductController.acceptsGzip("*")).isTrue();
+    assertThat(ProductController.acceptsGzip("*;q=0")).isFalse();
+    assertThat(ProductController.acceptsGzip("identity")).isFalse();
+  }
+
+  @Test
+  @DisplayName("판매 상품을 커서 기반 페이지로 조회한다.")
+  void getSellingProductsPage() throws Exception {
+    // given
+    ProductPageResponse page = ProductPageResponse.builder()
+        .products(List.of())
+        .nextCursor(null)
+        .hasNext(false)
+        .build();
+    when(productService.getSellingProductsPage(10L, 20)).thenReturn(page);
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/products/selling/page")
+                .param("cursor", "10")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.data.products").isArray())
+        .andExpect(jsonPath("$.data.hasNext").value(false));
+  }
+
+  @Test
+  @DisplayName("CSV 로 상품을 일괄 등록한다.")
+  void importProducts() throws Exception {
+    // given
+    ProductImportResponse result = ProductImportResponse.builder()
+        .totalCount(1)
+        .successCount(1)
+        .failureCount(0)
+        .errors(List.of())
+        .build();
+    when(productImportService.importProducts(any(InputStream.class))).thenReturn(result);
+
+    // when
+    // then
+    mockMvc.perform(
+            post("/api/v1/products/import")
+                .content("productType,productSellingStatus,name,price\nBOTTLE,SELLING,콜라,1500")
+                .contentType("text/csv")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.data.successCount").value(1))
+        .andExpect(jsonPath("$.data.errors").isEmpty());
+  }
+
+  @Test
+  @DisplayName("상품 이름으로 판매 상품을 검색한다.")
+  void searchProducts() throws Exception {
+    // given
+    ProductResponse product = ProductResponse.builder()
+        .id(1L)
+        .productNumber("001")
+        .type(HANDMADE)
+        .sellingStatus(SELLING)
+        .name("카페라떼")
+        .price(4500)
+        .build();
+    when(productService.searchProducts("라떼", 20)).thenReturn(List.of(product));
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/products/search")
+                .param("q", "라떼")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.data[0].productNumber").value("001"))
+        .andExpect(jsonPath("$.data[0].name").value("카페라떼"));
+  }
+
+  @Test
+  @DisplayName("상품 판매상태를 변경할 때 판매상태는 필수값이다.")
+  void changeSellingStatusWithoutSellingStatus() throws Exception {
+    // given
+    ProductSellingStatusChangeRequest request = ProductSellingStatusChangeRequest.builder().build();
+
+    // when
+    // then
+    mockMvc.perform(
+            post("/api/v1/products/001/selling-status")
+                .content(mapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("400"))
+        .andExpect(jsonPath("$.message").value("상품 판매상태는 필수입니다."))
+        .andExpect(jsonPath("$.data").isEmpty());
+  }
+}
@@ -0,0 +1,111 @@
+package sample.cafekiosk.spring.api.controller.sales;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.service.sales.BestSellerTracker.Window;
+import sample.cafekiosk.spring.api.service.sales.response.BestSellerResponse;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.LiveSalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.MinuteSalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.SalesReportResponse;
+
+class SalesControllerTest extends ControllerTestSupport {
+
+  @Test
+  @DisplayName("오늘 실시간 매출을 조회한다.")
+  void getLiveSales() throws Exception {
+    // given
+    LiveSalesResponse liveSales = LiveSalesResponse.builder()
+        .salesDate(LocalDate.of(2023, 3, 5))
+        .createdOrderCount(3)
+        .paidOrderCount(2)
+        .canceledOrderCount(1)
+        .totalAmount(8500)
+        .productQuantities(Map.of("001", 2L))
+        .recentMinutes(List.of(MinuteSalesResponse.of(LocalDateTime.of(2023, 3, 5, 10, 0), 2, 8500)))
+        .build();
+    when(liveSalesCounter.getLiveSales()).thenReturn(liveSales);
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/stats/live")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.data.paidOrderCount").value(2))
+        .andExpect(jsonPath("$.data.totalAmount").value(8500))
+        .andExpect(jsonPath("$.data.productQuantities['001']").value(2))
+        .andExpect(jsonPath("$.data.recentMinutes[0].orderCount").value(2));
+  }
+
+  @Test
+  @DisplayName("기간 매출 보고서를 조회한다.")
+  void getSalesReport() throws Exception {
+    // given
+    SalesReportResponse report = SalesReportResponse.builder()
+        .startDate(LocalDate.of(2023, 3, 1))
+        .endDate(LocalDate.of(2023, 3, 31))
+        .orderCount(2)
+        .totalAmount(8500)
+        .dailySales(List.of(DailySalesResponse.of(LocalDate.of(2023, 3, 1), 2, 8500)))
+        .productTypeAmounts(Map.of(HANDMADE, 8500L))
+        .productSales(List.of())
+        .build();
+    when(salesReportService.getSalesReport(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 31)))
+        .thenReturn(report);
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/stats/report")
+                .param("startDate", "2023-03-01")
+                .param("endDate", "2023-03-31")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.data.averageAmount").value(4250))
+        .andExpect(jsonPath("$.data.dailySales[0].salesDate").value("2023-03-01"))
+        .andExpect(jsonPath("$.data.productTypeAmounts.HANDMADE").value(8500));
+  }
+
+  @Test
+  @DisplayName("최근 1시간 동안 많이 팔린 상품을 오차 범위와 함께 조회한다.")
+  void getBestSellers() throws Exception {
+    // given
+    BestSellerResponse bestSeller = BestSellerResponse.builder()
+        .productNumber("001")
+        .quantity(12)
+        .error(2)
+        .build();
+    when(bestSellerTracker.getBestSellers(Window.HOUR, 5)).thenReturn(List.of(bestSeller));
+
+    // when
+    // then
+    mockMvc.perform(
+            get("/api/v1/stats/best-sellers")
+                .param("window", "HOUR")
+                .param("limit", "5")
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("200"))
+        .andExpect(jsonPath("$.data[0].productNumber").value("001"))
+        .andExpect(jsonPath("$.data[0].quantity").value(12))
+        .andExpect(jsonPath("$.data[0].guaranteedQuantity").value(10));
+  }
+}
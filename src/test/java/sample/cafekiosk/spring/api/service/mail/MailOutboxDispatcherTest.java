@@ -0,0 +1,153 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+import sample.cafekiosk.spring.domain.mail.MailSendHistoryRepository;
+
+class MailOutboxDispatcherTest extends IntegrationTestSupport {
+
+  @Autowired
+  MailOutboxDispatcher mailOutboxDispatcher;
+
+  @Autowired
+  MailOutboxRepository mailOutboxRepository;
+
+  @Autowired
+  MailSendHistoryRepository mailSendHistoryRepository;
+
+  @AfterEach
+  void tearDown() {
+    mailOutboxRepository.deleteAllInBatch();
+    mailSendHistoryRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("전송에 실패한 메일은 백오프 시간이 지난 뒤에 다시 전송하고, 성공하면 전송 이력을 남긴다.")
+  void dispatchRetriesAfterBackoff() {
+    // given
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+    MailOutbox outbox = mailOutboxRepository.save(
+        MailOutbox.create("from@test.com", "to@test.com", "제목", "내용", now));
+
+    BDDMockito.given(mailSendClient.sendEmail(anyString(), anyString(), anyString(), anyString()))
+        .willThrow(new IllegalStateException("메일 전송"))
+        .willReturn(true);
+
+    // when
+    int firstDispatched = mailOutboxDispatcher.dispatch(now);
+    MailOutbox retrying = mailOutboxRepository.findById(outbox.getId()).orElseThrow();
+    int dispatchedBeforeBackoff = mailOutboxDispatcher.dispatch(now);
+    int secondDispatched = mailOutboxDispatcher.dispatch(retrying.getNextAttemptDateTime());
+
+    // then
+    assertThat(firstDispatched).isEqualTo(1);
+    assertThat(retrying)
+        .extracting("status", "attemptCount", "lastError")
+        .containsExactly(MailOutboxStatus.PENDING, 1, "메일 전송");
+    assertThat(retrying.getNextAttemptDateTime()).isAfter(now);
+    assertThat(dispatchedBeforeBackoff).isZero();
+    assertThat(secondDispatched).isEqualTo(1);
+    assertThat(mailOutboxRepository.findById(outbox.getId())).get()
+        .extracting("status", "attemptCount")
+        .containsExactly(MailOutboxStatus.SENT, 2);
+    assertThat(mailSendHistoryRepository.findAll()).hasSize(1)
+        .extracting("toEmail", "subject")
+        .containsExactly(tuple("to@test.com", "제목"));
+  }
+
+  @Test
+  @DisplayName("본문이 긴 메일도 outbox 에 저장하고, 전송 이력에 본문을 그대로 남긴다.")
+  void dispatchLongContent() {
+    // given
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+    String content = "상품별 매출 : 아메리카노(001) 2개 8000원, ".repeat(300);
+    mailOutboxRepository.save(MailOutbox.create("from@test.com", "to@test.com", "제목", content, now));
+
+    BDDMockito.given(mailSendClient.sendEmail(anyString(), anyString(), anyString(), anyString()))
+        .willReturn(true);
+
+    // when
+    int dispatched = mailOutboxDispatcher.dispatch(now);
+
+    // then
+    assertThat(dispatched).isEqualTo(1);
+    assertThat(mailSendHistoryRepository.findAll()).hasSize(1)
+        .extracting("content")
+        .containsExactly(content);
+  }
+
+  @Test
+  @DisplayName("최대 시도 횟수만큼 실패한 메일은 FAILED 로 남기고 더 이상 전송하지 않는다.")
+  void dispatchFailsAfterMaxAttempts() {
+    // given
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+    MailOutbox outbox = mailOutboxRepository.save(
+        MailOutbox.create("from@test.com", "to@test.com", "제목", "내용", now));
+
+    BDDMockito.given(mailSendClient.sendEmail(anyString(), anyString(), anyString(), anyString()))
+        .willReturn(false);
+
+    // when
+    LocalDateTime dispatchDateTime = now;
+    for (int i = 0; i < 5; i++) {
+      mailOutboxDispatcher.dispatch(dispatchDateTime);
+      dispatchDateTime = dispatchDateTime.plusHours(1);
+    }
+
+    // then
+    assertThat(mailOutboxRepository.findById(outbox.getId())).get()
+        .extracting("status", "attemptCount")
+        .containsExactly(MailOutboxStatus.FAILED, 5);
+    assertThat(mailOutboxDispatcher.dispatch(dispatchDateTime)).isZero();
+    assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("선점한 뒤 결과가 기록되지 않은 메일은 선점 시간이 지나면 다시 전송한다.")
+  void dispatchReclaimsExpiredLease() {
+    // given
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+    MailOutbox outbox = MailOutbox.create("from@test.com", "to@test.com", "제목", "내용", now);
+    outbox.claim(now.plusMinutes(1));
+    mailOutboxRepository.save(outbox);
+
+    BDDMockito.given(mailSendClient.sendEmail(anyString(), anyString(), anyString(), anyString()))
+        .willReturn(true);
+
+    // when
+    int dispatchedWhileLeased = mailOutboxDispatcher.dispatch(now);
+    int dispatchedAfterLease = mailOutboxDispatcher.dispatch(now.plusMinutes(1));
+
+    // then
+    assertThat(dispatchedWhileLeased).isZero();
+    assertThat(dispatchedAfterLease).isEqualTo(1);
+    assertThat(mailOutboxRepository.findById(outbox.getId())).get()
+        .extracting("status", "attemptCount")
+        .containsExactly(MailOutboxStatus.SENT, 2);
+  }
+
+  @Test
+  @DisplayName("재시도 대기 시간은 시도할수록 두 배씩 늘어나되 최대값을 넘지 않고, 그 절반 이상이다.")
+  void backoffOf() {
+    // when // then
+    assertThat(mailOutboxDispatcher.backoffOf(1))
+        .isBetween(Duration.ofMillis(500), Duration.ofSeconds(1));
+    assertThat(mailOutboxDispatcher.backoffOf(3))
+        .isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+    assertThat(mailOutboxDispatcher.backoffOf(20))
+        .isBetween(Duration.ofSeconds(150), Duration.ofMinutes(5));
+  }
+}
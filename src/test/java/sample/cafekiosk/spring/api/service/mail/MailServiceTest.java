@@ -2,20 +2,20 @@ package sample.cafekiosk.spring.api.service.mail;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import sample.cafekiosk.spring.client.MailSendClient;
-import sample.cafekiosk.spring.domain.mail.MailSendHistory;
-import sample.cafekiosk.spring.domain.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
 
 
 // 모키토 사용할 꺼야 선언..! 이거 없으면 @Mock 적용이 안됨
@@ -23,46 +23,28 @@ import sample.cafekiosk.spring.domain.mail.MailSendHistoryRepository;
 class MailServiceTest {
 
   @Mock
-//  @Spy // when() 사용x
-  MailSendClient mailSendClient;
-
-  @Mock
-  MailSendHistoryRepository mailSendHistoryRepository;
+  MailOutboxRepository mailOutboxRepository;
 
   // Mock 객체 자동으로 DI
   @InjectMocks
   MailService mailService;
 
   @Test
-  @DisplayName("메일 전송 테스트")
-  void sendMail() {
+  @DisplayName("메일 전송을 예약하면 전송하지 않고 전송 대기 상태의 outbox 만 저장한다.")
+  void enqueueMail() {
     // given
-
-//    // @Spy 일때
-//    doReturn(true)
-//        .when(mailSendClient)
-//            .sendEmail(anyString(),anyString(),anyString(),anyString());
-
-    // @Mock 일때
-//    when(mailSendClient.sendEmail(
-//            anyString(),
-//            anyString(),
-//            anyString(),
-//            anyString())
-//    ).thenReturn(true);
-
-    // @BDDMockito 일때 (@Mock 일때 사용가능 -> BDD 스타일)
-    BDDMockito.given(mailSendClient
-            .sendEmail(anyString(), anyString(), anyString(), anyString()))
-        .willReturn(true);
+    BDDMockito.given(mailOutboxRepository.save(any(MailOutbox.class)))
+        .willAnswer(invocation -> invocation.getArgument(0));
 
     // when
-    boolean result = mailService.sendMail("", "", "", "");
+    mailService.enqueueMail("from@test.com", "to@test.com", "제목", "내용");
 
     // then
-    assertThat(result).isTrue();
-    verify(mailSendHistoryRepository, times(1))
-        .save(any(MailSendHistory.class));
+    ArgumentCaptor<MailOutbox> captor = ArgumentCaptor.forClass(MailOutbox.class);
+    verify(mailOutboxRepository, times(1)).save(captor.capture());
+    assertThat(captor.getValue())
+        .extracting("toEmail", "subject", "status", "attemptCount")
+        .containsExactly("to@test.com", "제목", MailOutboxStatus.PENDING, 0);
   }
 
-}
\ No newline at end of file
+}
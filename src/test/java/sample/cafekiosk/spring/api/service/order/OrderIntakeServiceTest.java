@@ -0,0 +1,84 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sample.cafekiosk.spring.api.service.order.OrderIntakeService.Backpressure;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchItemResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeStatus;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+  @Mock
+  OrderService orderService;
+
+  @Test
+  @DisplayName("접수한 주문은 대기 상태로 응답하고, 묶음 처리 후 결과를 조회할 수 있다.")
+  void acceptAndDrain() throws InterruptedException {
+    // given
+    OrderIntakeService orderIntakeService = createIntakeService(10);
+    OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+
+    given(orderService.createOrders(anyList(), anyList()))
+        .willReturn(List.of(
+            OrderBatchItemResponse.success(0, OrderResponse.builder().id(1L).build()),
+            OrderBatchItemResponse.fail(1, "재고가 부족한 상품이 있습니다.")
+        ));
+
+    OrderIntakeResponse first = orderIntakeService.accept(request, LocalDateTime.now());
+    OrderIntakeResponse second = orderIntakeService.accept(request, LocalDateTime.now());
+
+    // when
+    int drainedCount = orderIntakeService.drain(0);
+
+    // then
+    assertThat(first.getStatus()).isEqualByComparingTo(OrderIntakeStatus.PENDING);
+    assertThat(drainedCount).isEqualTo(2);
+    assertThat(orderIntakeService.getResult(first.getTicketId()).orElseThrow())
+        .extracting("status", "order.id")
+        .containsExactly(OrderIntakeStatus.COMPLETED, 1L);
+    assertThat(orderIntakeService.getResult(second.getTicketId()).orElseThrow())
+        .extracting("status", "message")
+        .containsExactly(OrderIntakeStatus.FAILED, "재고가 부족한 상품이 있습니다.");
+  }
+
+  @Test
+  @DisplayName("대기열이 가득 차면 주문 접수를 거절한다.")
+  void acceptWhenQueueIsFull() {
+    // given
+    OrderIntakeService orderIntakeService = createIntakeService(1);
+    OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+        .productNumbers(List.of("001"))
+        .build();
+    orderIntakeService.accept(request, LocalDateTime.now());
+
+    // when
+    // then
+    assertThatThrownBy(() -> orderIntakeService.accept(request, LocalDateTime.now()))
+        .isInstanceOf(RejectedExecutionException.class)
+        .hasMessage("주문 접수 대기열이 가득 찼습니다.");
+  }
+
+  // 소비 스레드 없이 만들어서 drain 을 직접 호출한다.
+  private OrderIntakeService createIntakeService(int capacity) {
+    return new OrderIntakeService(orderService, capacity, Backpressure.REJECT,
+        Duration.ZERO, 0, 50, Duration.ofMinutes(10), 1000);
+  }
+}
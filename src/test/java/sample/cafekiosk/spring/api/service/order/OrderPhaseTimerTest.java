@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.DEDUCT_STOCK;
+import static sample.cafekiosk.spring.api.service.order.OrderPhaseTimer.Phase.FIND_PRODUCTS;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderPhaseTimerTest {
+
+  @Test
+  @DisplayName("단계를 실행하면 결과를 그대로 돌려주고 해당 단계의 Timer 에 한 건이 기록된다.")
+  void record() {
+    // given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OrderPhaseTimer orderPhaseTimer = new OrderPhaseTimer(registry, true);
+
+    // when
+    String result = orderPhaseTimer.record(FIND_PRODUCTS, () -> "products");
+    orderPhaseTimer.run(DEDUCT_STOCK, () -> {
+    });
+
+    // then
+    assertThat(result).isEqualTo("products");
+    assertThat(timerOf(registry, "findProducts").count()).isEqualTo(1);
+    assertThat(timerOf(registry, "deductStock").count()).isEqualTo(1);
+    assertThat(timerOf(registry, "saveOrder").count()).isZero();
+  }
+
+  @Test
+  @DisplayName("단계가 예외로 끝나도 소요 시간은 기록되고 예외는 그대로 전달된다.")
+  void recordWhenActionFails() {
+    // given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OrderPhaseTimer orderPhaseTimer = new OrderPhaseTimer(registry, true);
+
+    // when // then
+    assertThatThrownBy(() -> orderPhaseTimer.run(DEDUCT_STOCK, () -> {
+      throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+    }))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("재고가 부족한 상품이 있습니다.");
+    assertThat(timerOf(registry, "deductStock").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("측정을 끄면 단계는 실행되지만 Timer 에는 기록되지 않는다.")
+  void recordWhenDisabled() {
+    // given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OrderPhaseTimer orderPhaseTimer = new OrderPhaseTimer(registry, false);
+
+    // when
+    String result = orderPhaseTimer.record(FIND_PRODUCTS, () -> "products");
+
+    // then
+    assertThat(result).isEqualTo("products");
+    assertThat(timerOf(registry, "findProducts").count()).isZero();
+  }
+
+  private static Timer timerOf(SimpleMeterRegistry registry, String phase) {
+    return registry.get(OrderPhaseTimer.METRIC_NAME)
+        .tag("phase", phase)
+        .timer();
+  }
+}
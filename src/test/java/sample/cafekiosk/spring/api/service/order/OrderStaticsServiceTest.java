@@ -1,21 +1,31 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BAKERY;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxDispatcher;
+import sample.cafekiosk.spring.api.service.order.response.SalesSummaryResponse;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
 import sample.cafekiosk.spring.domain.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.mail.MailSendHistoryRepository;
 import sample.cafekiosk.spring.domain.order.Order;
@@ -26,6 +36,9 @@ import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDateRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
 
 class OrderStaticsServiceTest extends IntegrationTestSupport {
 
@@ -44,16 +57,35 @@ class OrderStaticsServiceTest extends IntegrationTestSupport {
   @Autowired
   MailSendHistoryRepository mailSendHistoryRepository;
 
+  @Autowired
+  MailOutboxRepository mailOutboxRepository;
+
+  @Autowired
+  MailOutboxDispatcher mailOutboxDispatcher;
+
+  @Autowired
+  DailySalesRepository dailySalesRepository;
+
+  @Autowired
+  HourlySalesRepository hourlySalesRepository;
+
+  @Autowired
+  DirtySalesDateRepository dirtySalesDateRepository;
+
   @AfterEach
   void tearDown() {
+    dailySalesRepository.deleteAllInBatch();
+    hourlySalesRepository.deleteAllInBatch();
+    dirtySalesDateRepository.deleteAllInBatch();
     orderProductRepository.deleteAllInBatch();
     orderRepository.deleteAllInBatch();
     productRepository.deleteAllInBatch();
     mailSendHistoryRepository.deleteAllInBatch();
+    mailOutboxRepository.deleteAllInBatch();
   }
 
   @Test
-  @DisplayName("결제완료 주문들을 조회하여 매출 통계 메일을 전송한다.")
+  @DisplayName("결제완료 주문들을 조회하여 매출 통계 메일을 outbox 에 저장하고, dispatcher 가 전송한 뒤 이력을 남긴다.")
   void sendOrderStatisticsMail() {
     // given
     LocalDateTime now = LocalDateTime.of(2023, 3, 5, 0, 0);
@@ -77,17 +109,90 @@ class OrderStaticsServiceTest extends IntegrationTestSupport {
         any(String.class))).thenReturn(true);
 
     // when
-    boolean result = orderStaticsService.sendOrderStatistMail(LocalDate.of(2023, 3, 5),
+    Long outboxId = orderStaticsService.sendOrderStatistMail(LocalDate.of(2023, 3, 5),
         "test@test.com");
+    int dispatched = mailOutboxDispatcher.dispatch(LocalDateTime.now());
 
     // then
-    assertThat(result).isTrue();
+    assertThat(dispatched).isEqualTo(1);
+    assertThat(mailOutboxRepository.findById(outboxId)).get()
+        .extracting(MailOutbox::getStatus, MailOutbox::getAttemptCount)
+        .containsExactly(MailOutboxStatus.SENT, 1);
 
     List<MailSendHistory> histories = mailSendHistoryRepository.findAll();
     assertThat(histories).hasSize(1)
         .extracting("content")
-        .contains("총 매출 합계는 31000원입니다.");
+        .containsExactly(String.join("\n",
+            "총 매출 합계는 31000원입니다.",
+            "주문 수 : 2건",
+            "평균 주문 금액 : 15500원",
+            "상품 타입별 매출 : 제조 음료 31000원",
+            "상품별 매출 : 팥빙수(003) 2개 14000원, 카페라떼(002) 2개 9000원, 아메리카노(001) 2개 8000원"));
+
+  }
+
+  @Test
+  @DisplayName("상품이 많으면 매출 통계 메일에는 매출 상위 10개 상품만 적고 나머지는 개수로 적는다.")
+  void sendOrderStatisticsMailWithFullMenu() {
+    // given
+    List<Product> products = IntStream.rangeClosed(1, 50)
+        .mapToObj(i -> createProduct(String.format("%03d", i), HANDMADE, SELLING, "메뉴" + i, i * 100))
+        .toList();
+    productRepository.saveAll(products);
+    createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 10, 0), products);
+
+    Mockito.when(mailSendClient.sendEmail(
+        any(String.class),
+        any(String.class),
+        any(String.class),
+        any(String.class))).thenReturn(true);
+
+    // when
+    orderStaticsService.sendOrderStatistMail(LocalDate.of(2023, 3, 5), "test@test.com");
+    mailOutboxDispatcher.dispatch(LocalDateTime.now());
+
+    // then
+    List<MailSendHistory> histories = mailSendHistoryRepository.findAll();
+    assertThat(histories).hasSize(1);
+    assertThat(histories.get(0).getContent())
+        .contains("상품별 매출 : 메뉴50(050) 1개 5000원, 메뉴49(049) 1개 4900원")
+        .endsWith("메뉴41(041) 1개 4100원 외 40개 상품")
+        .doesNotContain("(040)");
+  }
+
+  @Test
+  @DisplayName("결제완료 주문들의 주문 수, 평균 주문 금액, 상품 타입별/상품별 매출을 요약한다.")
+  void getSalesSummary() {
+    // given
+    Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+    Product product2 = createProduct("002", BOTTLE, SELLING, "콜라", 1500);
+    Product product3 = createProduct("003", BAKERY, SELLING, "크루아상", 3500);
+    productRepository.saveAll(List.of(product1, product2, product3));
 
+    createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 10, 0), List.of(product1, product1, product2));
+    createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 11, 0), List.of(product3));
+    orderRepository.save(Order.create(List.of(product1), LocalDateTime.of(2023, 3, 5, 12, 0)));
+
+    // when
+    SalesSummaryResponse summary = orderStaticsService.getSalesSummary(LocalDate.of(2023, 3, 5));
+
+    // then
+    assertThat(summary)
+        .extracting("orderCount", "totalAmount", "averageAmount")
+        .contains(2L, 13000L, 6500L);
+    assertThat(summary.getProductTypeAmounts())
+        .containsExactly(
+            entry(HANDMADE, 8000L),
+            entry(BOTTLE, 1500L),
+            entry(BAKERY, 3500L)
+        );
+    assertThat(summary.getProductSales())
+        .extracting("productNumber", "quantity", "totalAmount")
+        .containsExactly(
+            tuple("001", 2L, 8000L),
+            tuple("003", 1L, 3500L),
+            tuple("002", 1L, 1500L)
+        );
   }
 
   private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
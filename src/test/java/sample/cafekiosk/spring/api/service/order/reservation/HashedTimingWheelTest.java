@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.api.service.order.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+  @Test
+  @DisplayName("만료 시각이 지난 항목만 꺼내고, 꺼낸 항목은 휠에서 제거된다.")
+  void advance() {
+    // given
+    HashedTimingWheel<Long> timingWheel = new HashedTimingWheel<>(100, 8, 0);
+    timingWheel.schedule(1L, 250);
+    timingWheel.schedule(2L, 500);
+
+    // when
+    // then
+    assertThat(timingWheel.advance(200)).isEmpty();
+    assertThat(timingWheel.advance(300)).containsExactly(1L);
+    assertThat(timingWheel.advance(500)).containsExactly(2L);
+    assertThat(timingWheel.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("휠 한 바퀴보다 먼 만료 시각은 바퀴 수만큼 지난 뒤에 만료된다.")
+  void advanceWithRounds() {
+    // given
+    HashedTimingWheel<Long> timingWheel = new HashedTimingWheel<>(100, 4, 0);
+    timingWheel.schedule(1L, 1000);
+
+    // when
+    // then
+    assertThat(timingWheel.advance(900)).isEmpty();
+    assertThat(timingWheel.advance(1000)).containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("취소한 항목은 만료되지 않는다.")
+  void cancel() {
+    // given
+    HashedTimingWheel<Long> timingWheel = new HashedTimingWheel<>(100, 8, 0);
+    timingWheel.schedule(1L, 100);
+    timingWheel.schedule(2L, 100);
+
+    // when
+    boolean canceled = timingWheel.cancel(1L);
+
+    // then
+    assertThat(canceled).isTrue();
+    assertThat(timingWheel.advance(100)).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("이미 지난 만료 시각으로 등록해도 다음 tick 에 만료된다.")
+  void scheduleWithPastDeadline() {
+    // given
+    HashedTimingWheel<Long> timingWheel = new HashedTimingWheel<>(100, 8, 0);
+    timingWheel.advance(500);
+
+    // when
+    timingWheel.schedule(1L, 0);
+
+    // then
+    assertThat(timingWheel.advance(600)).containsExactly(1L);
+  }
+}
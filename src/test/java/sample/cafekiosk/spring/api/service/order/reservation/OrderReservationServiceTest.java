@@ -0,0 +1,99 @@
+package sample.cafekiosk.spring.api.service.order.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.sales.LiveSalesCounter;
+import sample.cafekiosk.spring.api.service.stock.StockService;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OrderReservationServiceTest {
+
+  private static final Duration TTL = Duration.ofMinutes(15);
+  private static final Duration TICK = Duration.ofSeconds(1);
+
+  @Mock
+  OrderRepository orderRepository;
+
+  @Mock
+  StockService stockService;
+
+  @Mock
+  LiveSalesCounter liveSalesCounter;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  OrderReservationService orderReservationService;
+
+  @BeforeEach
+  void setUp() {
+    orderReservationService = new OrderReservationService(orderRepository, stockService, liveSalesCounter,
+        transactionManager, TTL, TICK, 512);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("만료 처리 중 한 묶음이 실패해도 다음 묶음은 처리하고, 실패한 묶음의 주문은 다음 tick 에 다시 만료시킨다.")
+  void expireRetriesFailedChunk() {
+    // given
+    LongStream.rangeClosed(1, 501).forEach(orderReservationService::reserve);
+    long expireMillis = System.currentTimeMillis() + TTL.plusMinutes(1).toMillis();
+
+    BDDMockito.given(orderRepository.findAllForUpdateByIdIn(anyCollection()))
+        .willThrow(new PessimisticLockingFailureException("lock timeout"))
+        .willReturn(List.of());
+
+    // when
+    int expiredCount = orderReservationService.expire(expireMillis);
+    int reservationCountAfterFailure = orderReservationService.getReservationCount();
+    orderReservationService.expire(expireMillis + TICK.toMillis());
+
+    // then
+    assertThat(expiredCount).isZero();
+    assertThat(reservationCountAfterFailure).isEqualTo(500);
+    assertThat(orderReservationService.getReservationCount()).isZero();
+    verify(orderRepository, times(3)).findAllForUpdateByIdIn(anyCollection());
+  }
+
+  @Test
+  @DisplayName("결제 완료 트랜잭션이 롤백되면 예약은 남고, 커밋된 뒤에만 예약을 지운다.")
+  void confirmAfterCommit() {
+    // given
+    orderReservationService.reserve(1L);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    orderReservationService.confirm(1L);
+    int reservationCountBeforeCommit = orderReservationService.getReservationCount();
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+    // then
+    assertThat(reservationCountBeforeCommit).isEqualTo(1);
+    assertThat(orderReservationService.getReservationCount()).isZero();
+  }
+}
@@ -0,0 +1,119 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+class ProductCatalogTest extends IntegrationTestSupport {
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("캐시에 없는 상품은 DB 에서 읽어 캐싱하고, 다음 조회부터는 캐시에서 반환한다.")
+  void findAllByProductNumberIn() {
+    // given
+    productRepository.saveAll(List.of(createProduct("001"), createProduct("002")));
+    long missCount = productCatalog.getStats().missCount();
+    long hitCount = productCatalog.getStats().hitCount();
+
+    // when
+    List<Product> firstProducts = productCatalog.findAllByProductNumberIn(List.of("001", "002"));
+    List<Product> secondProducts = productCatalog.findAllByProductNumberIn(List.of("001", "002"));
+
+    // then
+    assertThat(firstProducts).extracting("productNumber").containsExactlyInAnyOrder("001", "002");
+    assertThat(secondProducts).extracting("productNumber").containsExactlyInAnyOrder("001", "002");
+    assertThat(productCatalog.getStats().missCount() - missCount).isEqualTo(2);
+    assertThat(productCatalog.getStats().hitCount() - hitCount).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("카탈로그 캐시의 적중/실패 횟수를 cache.gets 지표로 노출한다.")
+  void cacheMetrics() {
+    // given
+    productRepository.save(createProduct("001"));
+    double hitCount = cacheGets("hit");
+    double missCount = cacheGets("miss");
+
+    // when
+    productCatalog.findAllByProductNumberIn(List.of("001"));
+    productCatalog.findAllByProductNumberIn(List.of("001"));
+
+    // then
+    assertThat(cacheGets("miss") - missCount).isEqualTo(1);
+    assertThat(cacheGets("hit") - hitCount).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("존재하지 않는 상품번호는 결과에서 빠지고 캐싱되지 않는다.")
+  void findAllByProductNumberInWithUnknownProductNumber() {
+    // given
+    productRepository.save(createProduct("001"));
+    productCatalog.findAllByProductNumberIn(List.of("001", "999"));
+
+    productRepository.save(createProduct("999"));
+
+    // when
+    List<Product> products = productCatalog.findAllByProductNumberIn(List.of("001", "999"));
+
+    // then
+    assertThat(products).extracting("productNumber").containsExactlyInAnyOrder("001", "999");
+  }
+
+  @Test
+  @DisplayName("상품 변경 이벤트를 받으면 해당 상품을 캐시에서 지워 다음 조회 때 다시 읽는다.")
+  void onProductChanged() {
+    // given
+    productRepository.save(createProduct("001"));
+    productCatalog.findAllByProductNumberIn(List.of("001"));
+    long missCount = productCatalog.getStats().missCount();
+
+    // when
+    eventPublisher.publishEvent(ProductChangedEvent.of("001"));
+    productCatalog.findAllByProductNumberIn(List.of("001"));
+
+    // then
+    assertThat(productCatalog.getStats().missCount() - missCount).isEqualTo(1);
+  }
+
+  private Product createProduct(String productNumber) {
+    return Product.builder()
+        .productNumber(productNumber)
+        .type(HANDMADE)
+        .sellingStatus(SELLING)
+        .name("메뉴 이름")
+        .price(4000)
+        .build();
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", "product.catalog")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -0,0 +1,145 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+class ProductImportServiceTest extends IntegrationTestSupport {
+
+  @Autowired
+  ProductImportService productImportService;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  ProductNumberSequenceRepository productNumberSequenceRepository;
+
+  @AfterEach
+  void tearDown() {
+    stockRepository.deleteAllInBatch();
+    productRepository.deleteAllInBatch();
+    productNumberSequenceRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("CSV 의 상품들을 차례로 상품번호를 붙여 등록하고, 재고 관리 대상 상품은 초기 재고도 등록한다.")
+  void importProducts() throws Exception {
+    // given
+    String csv = """
+        productType,productSellingStatus,name,price,stockQuantity
+        BOTTLE,SELLING,콜라,1500,100
+        HANDMADE,HOLD,"아메리카노, 샷 추가",4500,
+        """;
+
+    // when
+    ProductImportResponse response = productImportService.importProducts(toInputStream(csv));
+
+    // then
+    assertThat(response)
+        .extracting("totalCount", "successCount", "failureCount")
+        .containsExactly(2, 2, 0);
+
+    assertThat(productRepository.findAll())
+        .extracting("productNumber", "type", "sellingStatus", "name", "price")
+        .containsExactlyInAnyOrder(
+            tuple("001", BOTTLE, SELLING, "콜라", 1500),
+            tuple("002", HANDMADE, HOLD, "아메리카노, 샷 추가", 4500)
+        );
+    assertThat(stockRepository.findAll())
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("001", 100));
+  }
+
+  @Test
+  @DisplayName("잘못된 행은 건너뛰고 행 번호와 사유를 응답한다.")
+  void importProductsWithInvalidRows() throws Exception {
+    // given
+    String csv = """
+        productType,productSellingStatus,name,price
+        BOTTLE,SELLING,콜라,1500
+        COFFEE,SELLING,라떼,4500
+        HANDMADE,SELLING,,4500
+        HANDMADE,SELLING,모카,-100
+        HANDMADE,SELLING,모카,abc
+        """;
+
+    // when
+    ProductImportResponse response = productImportService.importProducts(toInputStream(csv));
+
+    // then
+    assertThat(response)
+        .extracting("totalCount", "successCount", "failureCount")
+        .containsExactly(5, 1, 4);
+    assertThat(response.getErrors())
+        .extracting("lineNumber", "message")
+        .containsExactly(
+            tuple(3, "상품 타입이 올바르지 않습니다."),
+            tuple(4, "상품 이름은 필수입니다."),
+            tuple(5, "상품 가격은 양수여야 합니다."),
+            tuple(6, "상품 가격은 숫자여야 합니다.")
+        );
+    assertThat(productRepository.findAll()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("chunk 크기보다 많은 상품도 모두 등록한다.")
+  void importProductsMoreThanChunkSize() throws Exception {
+    // given
+    String csv = "productType,productSellingStatus,name,price\n"
+        + IntStream.rangeClosed(1, 2500)
+        .mapToObj(i -> "HANDMADE,SELLING,메뉴" + i + ",1000")
+        .collect(Collectors.joining("\n"));
+
+    // when
+    ProductImportResponse response = productImportService.importProducts(toInputStream(csv));
+
+    // then
+    assertThat(response.getSuccessCount()).isEqualTo(2500);
+    assertThat(productRepository.count()).isEqualTo(2500);
+    assertThat(productRepository.findMaxProductNumber()).isEqualTo(2500);
+  }
+
+  @Test
+  @DisplayName("필수 컬럼이 없는 헤더는 등록하지 않고 실패로 응답한다.")
+  void importProductsWithoutRequiredColumns() throws Exception {
+    // given
+    String csv = """
+        productType,name,price
+        BOTTLE,콜라,1500
+        """;
+
+    // when
+    ProductImportResponse response = productImportService.importProducts(toInputStream(csv));
+
+    // then
+    assertThat(response.getErrors())
+        .extracting("lineNumber")
+        .containsExactly(1);
+    assertThat(productRepository.count()).isZero();
+  }
+
+  private static ByteArrayInputStream toInputStream(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+}
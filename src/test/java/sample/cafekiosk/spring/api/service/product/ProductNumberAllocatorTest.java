@@ -0,0 +1,92 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+class ProductNumberAllocatorTest extends IntegrationTestSupport {
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  ProductNumberSequenceRepository productNumberSequenceRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  ProductNumberAllocator productNumberAllocator;
+
+  // 메모리에 예약해 둔 구간이 테스트 사이에 이어지지 않도록 테스트마다 새로 만든다.
+  @BeforeEach
+  void setUp() {
+    productNumberAllocator = new ProductNumberAllocator(productNumberSequenceRepository, productRepository,
+        transactionManager, 50);
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAllInBatch();
+    productNumberSequenceRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("이미 등록된 상품이 있으면 가장 큰 상품번호 다음부터 발급하고, 999 다음은 1000 이다.")
+  void next() {
+    // given
+    productRepository.save(Product.builder()
+        .productNumber("998")
+        .type(HANDMADE)
+        .sellingStatus(SELLING)
+        .name("아메리카노")
+        .price(4000)
+        .build());
+
+    // when
+    List<String> productNumbers = List.of(productNumberAllocator.next(), productNumberAllocator.next());
+
+    // then
+    assertThat(productNumbers).containsExactly("999", "1000");
+  }
+
+  @Test
+  @DisplayName("동시에 발급해도 같은 상품번호가 나오지 않는다.")
+  void nextConcurrently() throws Exception {
+    // given
+    int count = 500;
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    // when
+    List<Future<String>> futures = IntStream.range(0, count)
+        .mapToObj(i -> executor.submit(productNumberAllocator::next))
+        .toList();
+
+    List<String> productNumbers = new ArrayList<>();
+    for (Future<String> future : futures) {
+      productNumbers.add(future.get());
+    }
+    executor.shutdown();
+
+    // then
+    assertThat(productNumbers).hasSize(count)
+        .doesNotHaveDuplicates()
+        .contains("001");
+  }
+}
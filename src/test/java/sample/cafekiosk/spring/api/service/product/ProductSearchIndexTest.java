@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+class ProductSearchIndexTest extends IntegrationTestSupport {
+
+  @Autowired
+  ProductService productService;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  ProductNumberSequenceRepository productNumberSequenceRepository;
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAllInBatch();
+    productNumberSequenceRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("판매 중/판매 보류 상품을 이름의 앞, 가운데, 끝 어디로든 검색할 수 있다.")
+  void search() {
+    // given
+    productRepository.saveAll(List.of(
+        createProduct("001", SELLING, "아메리카노"),
+        createProduct("002", HOLD, "카페 라떼"),
+        createProduct("003", STOP_SELLING, "바닐라 라떼"),
+        createProduct("004", SELLING, "라떼아트 쿠키")
+    ));
+    productSearchIndex.load();
+
+    // when
+    List<ProductResponse> products = productSearchIndex.search("라떼", 10);
+
+    // then
+    assertThat(products).extracting("productNumber", "name")
+        .containsExactly(
+            tuple("002", "카페 라떼"),
+            tuple("004", "라떼아트 쿠키")
+        );
+    assertThat(productSearchIndex.search("리카", 10)).extracting("productNumber").containsExactly("001");
+    assertThat(productSearchIndex.search("노", 10)).extracting("productNumber").containsExactly("001");
+    assertThat(productSearchIndex.search("페라", 10)).extracting("productNumber").containsExactly("002");
+    assertThat(productSearchIndex.search("라떼쿠키", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("검색 결과는 limit 개수까지만 반환한다.")
+  void searchWithLimit() {
+    // given
+    productRepository.saveAll(List.of(
+        createProduct("001", SELLING, "카페라떼"),
+        createProduct("002", SELLING, "바닐라라떼"),
+        createProduct("003", SELLING, "녹차라떼")
+    ));
+    productSearchIndex.load();
+
+    // when
+    List<ProductResponse> products = productSearchIndex.search("라떼", 2);
+
+    // then
+    assertThat(products).extracting("productNumber").containsExactly("001", "002");
+  }
+
+  @Test
+  @DisplayName("새로 등록한 상품은 커밋되면 바로 검색된다.")
+  void searchAfterCreateProduct() {
+    // given
+    ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+        .productType(HANDMADE)
+        .productSellingStatus(SELLING)
+        .name("카푸치노")
+        .price(5000)
+        .build();
+
+    // when
+    ProductResponse createdProduct = productService.createProduct(request);
+
+    // then
+    assertThat(productSearchIndex.search("푸치", 10)).extracting("productNumber")
+        .containsExactly(createdProduct.getProductNumber());
+  }
+
+  @Test
+  @DisplayName("판매 중지로 바꾼 상품은 검색에서 빠지고, 다시 판매하면 검색된다.")
+  void searchAfterChangeSellingStatus() {
+    // given
+    productRepository.save(createProduct("001", SELLING, "아메리카노"));
+    productSearchIndex.load();
+
+    // when
+    productService.changeSellingStatus("001", STOP_SELLING);
+    List<ProductResponse> stoppedProducts = productSearchIndex.search("아메", 10);
+
+    productService.changeSellingStatus("001", SELLING);
+    List<ProductResponse> resumedProducts = productSearchIndex.search("아메", 10);
+
+    // then
+    assertThat(stoppedProducts).isEmpty();
+    assertThat(resumedProducts).extracting("productNumber", "sellingStatus")
+        .containsExactly(tuple("001", SELLING));
+  }
+
+  private Product createProduct(String productNumber, ProductSellingStatus sellingStatus, String name) {
+    return Product.builder()
+        .productNumber(productNumber)
+        .type(HANDMADE)
+        .sellingStatus(sellingStatus)
+        .name(name)
+        .price(4000)
+        .build();
+  }
+}
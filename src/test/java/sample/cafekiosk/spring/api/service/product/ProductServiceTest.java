@@ -1,10 +1,17 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,8 +19,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsSnapshot;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
@@ -26,9 +36,16 @@ class ProductServiceTest extends IntegrationTestSupport {
   @Autowired
   ProductRepository productRepository;
 
+  @Autowired
+  ProductNumberSequenceRepository productNumberSequenceRepository;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
   @AfterEach
   void tearDown() {
     productRepository.deleteAllInBatch();
+    productNumberSequenceRepository.deleteAllInBatch();
   }
 
   @Test
@@ -87,6 +104,109 @@ class ProductServiceTest extends IntegrationTestSupport {
             tuple("001", HANDMADE, SELLING, "카푸치노", 5000));
   }
 
+  @Test
+  @DisplayName("판매 상품 응답은 상품이 바뀌기 전까지 다시 만들지 않고, 신규 상품이 등록되면 다시 만든다.")
+  void getSellingProductsSnapshot() {
+    // given
+    Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+    productRepository.save(product1);
+
+    SellingProductsSnapshot snapshot = productService.getSellingProductsSnapshot();
+
+    ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+        .productType(HANDMADE)
+        .productSellingStatus(SELLING)
+        .name("카푸치노")
+        .price(5000)
+        .build();
+
+    // when
+    SellingProductsSnapshot cachedSnapshot = productService.getSellingProductsSnapshot();
+    productService.createProduct(request);
+    SellingProductsSnapshot rebuiltSnapshot = productService.getSellingProductsSnapshot();
+
+    // then
+    assertThat(cachedSnapshot).isSameAs(snapshot);
+    assertThat(rebuiltSnapshot.getEtag()).isNotEqualTo(snapshot.getEtag());
+    assertThat(new String(rebuiltSnapshot.getBody(), StandardCharsets.UTF_8))
+        .contains("아메리카노", "카푸치노");
+  }
+
+  @Test
+  @DisplayName("판매 상품을 id 커서 기준으로 나눠서 조회한다. 마지막 페이지는 다음 페이지가 없다.")
+  void getSellingProductsPage() {
+    // given
+    Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+    Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+    Product product3 = createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+    Product product4 = createProduct("004", HANDMADE, SELLING, "카푸치노", 5000);
+    productRepository.saveAll(List.of(product1, product2, product3, product4));
+
+    // when
+    ProductPageResponse firstPage = productService.getSellingProductsPage(null, 2);
+    ProductPageResponse secondPage = productService.getSellingProductsPage(firstPage.getNextCursor(), 2);
+
+    // then
+    assertThat(firstPage.isHasNext()).isTrue();
+    assertThat(firstPage.getProducts())
+        .extracting("productNumber")
+        .containsExactly("001", "002");
+
+    assertThat(secondPage.isHasNext()).isFalse();
+    assertThat(secondPage.getProducts())
+        .extracting("productNumber")
+        .containsExactly("004");
+  }
+
+  @Test
+  @DisplayName("판매 상품 전체를 판매 상품 조회와 같은 형식의 JSON 으로 써 내려간다.")
+  void writeSellingProducts() throws Exception {
+    // given
+    Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+    Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+    Product product3 = createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+    productRepository.saveAll(List.of(product1, product2, product3));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    productService.writeSellingProducts(outputStream);
+
+    // then
+    JsonNode response = objectMapper.readTree(outputStream.toByteArray());
+    assertThat(response.get("code").asInt()).isEqualTo(200);
+    assertThat(response.get("data")).hasSize(2);
+    assertThat(response.get("data").findValuesAsText("productNumber"))
+        .containsExactly("001", "002");
+  }
+
+  @Test
+  @DisplayName("상품의 판매상태를 변경한다.")
+  void changeSellingStatus() {
+    // given
+    productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+
+    // when
+    ProductResponse productResponse = productService.changeSellingStatus("001", STOP_SELLING);
+
+    // then
+    assertThat(productResponse)
+        .extracting("productNumber", "sellingStatus")
+        .contains("001", STOP_SELLING);
+    assertThat(productRepository.findAllByProductNumberIn(List.of("001")))
+        .extracting("sellingStatus")
+        .containsExactly(STOP_SELLING);
+  }
+
+  @Test
+  @DisplayName("존재하지 않는 상품의 판매상태는 변경할 수 없다.")
+  void changeSellingStatusWithUnknownProduct() {
+    // when // then
+    assertThatThrownBy(() -> productService.changeSellingStatus("999", STOP_SELLING))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("상품이 존재하지 않습니다.");
+  }
+
   private static Product createProduct(
       String productNumber,
       ProductType type,
@@ -0,0 +1,77 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.sales.BestSellerTracker.Window;
+import sample.cafekiosk.spring.api.service.sales.response.BestSellerResponse;
+
+class BestSellerTrackerTest {
+
+  @Test
+  @DisplayName("오늘 주문된 상품을 판매 수량이 많은 순서로 반환한다.")
+  void getBestSellersToday() {
+    // given
+    BestSellerTracker tracker = new BestSellerTracker(10, Duration.ofMinutes(5));
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+    tracker.record(Map.of("001", 2, "002", 1), now);
+    tracker.record(Map.of("002", 3), now.plusHours(2));
+
+    // when
+    List<BestSellerResponse> bestSellers = tracker.getBestSellers(Window.TODAY, 10, now.plusHours(2));
+
+    // then
+    assertThat(bestSellers)
+        .extracting("productNumber", "quantity", "error", "guaranteedQuantity")
+        .containsExactly(
+            tuple("002", 4L, 0L, 4L),
+            tuple("001", 2L, 0L, 2L)
+        );
+  }
+
+  @Test
+  @DisplayName("최근 1시간 판매량에는 1시간이 지난 주문이 빠진다.")
+  void getBestSellersHour() {
+    // given
+    BestSellerTracker tracker = new BestSellerTracker(10, Duration.ofMinutes(5));
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+    tracker.record(Map.of("001", 5), now);
+    tracker.record(Map.of("002", 1), now.plusMinutes(30));
+    tracker.record(Map.of("002", 1), now.plusMinutes(61));
+
+    // when
+    List<BestSellerResponse> bestSellers = tracker.getBestSellers(Window.HOUR, 10, now.plusMinutes(61));
+
+    // then
+    assertThat(bestSellers)
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("002", 2L));
+  }
+
+  @Test
+  @DisplayName("날짜가 바뀌면 오늘 판매량을 새로 센다.")
+  void getBestSellersAfterMidnight() {
+    // given
+    BestSellerTracker tracker = new BestSellerTracker(10, Duration.ofMinutes(5));
+    LocalDateTime now = LocalDateTime.of(2023, 3, 5, 23, 50);
+
+    tracker.record(Map.of("001", 5), now);
+    tracker.record(Map.of("002", 1), now.plusMinutes(20));
+
+    // when
+    List<BestSellerResponse> bestSellers = tracker.getBestSellers(Window.TODAY, 10, now.plusMinutes(20));
+
+    // then
+    assertThat(bestSellers)
+        .extracting("productNumber", "quantity")
+        .containsExactly(tuple("002", 1L));
+  }
+}
@@ -0,0 +1,171 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.sales.response.LiveSalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.MinuteSalesResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDateRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+class LiveSalesCounterTest extends IntegrationTestSupport {
+
+  @Autowired
+  LiveSalesCounter liveSalesCounter;
+
+  @Autowired
+  OrderService orderService;
+
+  @Autowired
+  OrderRepository orderRepository;
+
+  @Autowired
+  OrderProductRepository orderProductRepository;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  DailySalesRepository dailySalesRepository;
+
+  @Autowired
+  HourlySalesRepository hourlySalesRepository;
+
+  @Autowired
+  DirtySalesDateRepository dirtySalesDateRepository;
+
+  @AfterEach
+  void tearDown() {
+    dailySalesRepository.deleteAllInBatch();
+    hourlySalesRepository.deleteAllInBatch();
+    dirtySalesDateRepository.deleteAllInBatch();
+    orderProductRepository.deleteAllInBatch();
+    orderRepository.deleteAllInBatch();
+    productRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("주문 생성, 결제완료, 취소가 커밋되면 오늘 실시간 매출에 반영된다.")
+  void recordOrders() {
+    // given
+    productRepository.saveAll(List.of(createProduct("001", 4000), createProduct("002", 4500)));
+    LiveSalesResponse before = liveSalesCounter.getLiveSales();
+
+    OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+        .productNumbers(List.of("001", "001", "002"))
+        .build();
+
+    // when
+    OrderResponse paidOrder = orderService.createOrder(request, LocalDateTime.now());
+    OrderResponse canceledOrder = orderService.createOrder(request, LocalDateTime.now());
+    orderService.completePayment(paidOrder.getId());
+    orderService.cancelOrder(canceledOrder.getId());
+
+    // then
+    LiveSalesResponse after = liveSalesCounter.getLiveSales();
+    assertThat(after.getCreatedOrderCount() - before.getCreatedOrderCount()).isEqualTo(2);
+    assertThat(after.getPaidOrderCount() - before.getPaidOrderCount()).isEqualTo(1);
+    assertThat(after.getCanceledOrderCount() - before.getCanceledOrderCount()).isEqualTo(1);
+    assertThat(after.getTotalAmount() - before.getTotalAmount()).isEqualTo(12500);
+    assertThat(after.getProductQuantities().get("001") - before.getProductQuantities().getOrDefault("001", 0L))
+        .isEqualTo(2);
+    assertThat(after.getRecentMinutes().stream().mapToLong(MinuteSalesResponse::getTotalAmount).sum()
+        - before.getRecentMinutes().stream().mapToLong(MinuteSalesResponse::getTotalAmount).sum())
+        .isEqualTo(12500);
+  }
+
+  @Test
+  @DisplayName("시작할 때 오늘 주문을 집계 쿼리로 읽어서 카운터에 더한다.")
+  void load() {
+    // given
+    List<Product> products = productRepository.saveAll(
+        List.of(createProduct("001", 4000), createProduct("002", 4500)));
+    LocalDateTime now = LocalDateTime.now();
+
+    orderRepository.saveAll(List.of(
+        createOrder(products, OrderStatus.PAYMENT_COMPLETED, now),
+        createOrder(products, OrderStatus.PAYMENT_COMPLETED, now),
+        createOrder(products, OrderStatus.CANCELED, now),
+        createOrder(products, OrderStatus.INIT, now),
+        createOrder(products, OrderStatus.PAYMENT_COMPLETED, now.minusDays(1))
+    ));
+    LiveSalesResponse before = liveSalesCounter.getLiveSales();
+
+    // when
+    liveSalesCounter.load();
+
+    // then
+    LiveSalesResponse after = liveSalesCounter.getLiveSales();
+    assertThat(after.getSalesDate()).isEqualTo(now.toLocalDate());
+    assertThat(after.getCreatedOrderCount() - before.getCreatedOrderCount()).isEqualTo(4);
+    assertThat(after.getPaidOrderCount() - before.getPaidOrderCount()).isEqualTo(2);
+    assertThat(after.getCanceledOrderCount() - before.getCanceledOrderCount()).isEqualTo(1);
+    assertThat(after.getTotalAmount() - before.getTotalAmount()).isEqualTo(17000);
+    assertThat(after.getProductQuantities().get("001") - before.getProductQuantities().getOrDefault("001", 0L))
+        .isEqualTo(2);
+    assertThat(after.getProductQuantities().get("002") - before.getProductQuantities().getOrDefault("002", 0L))
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("적재 전에 반영된 주문은 적재가 끝난 뒤에도 남아 있다.")
+  void recordBeforeLoad() {
+    // given
+    List<Product> products = productRepository.saveAll(List.of(createProduct("001", 4000)));
+    LocalDateTime now = LocalDateTime.now();
+    LiveSalesResponse before = liveSalesCounter.getLiveSales();
+
+    // 아직 집계 쿼리에 잡히지 않은, 적재 중에 커밋된 주문
+    Order order = createOrder(products, OrderStatus.PAYMENT_COMPLETED, now);
+    liveSalesCounter.recordCreated(order);
+    liveSalesCounter.recordPaid(order);
+
+    // when
+    liveSalesCounter.load();
+
+    // then
+    LiveSalesResponse after = liveSalesCounter.getLiveSales();
+    assertThat(after.getCreatedOrderCount() - before.getCreatedOrderCount()).isEqualTo(1);
+    assertThat(after.getPaidOrderCount() - before.getPaidOrderCount()).isEqualTo(1);
+    assertThat(after.getTotalAmount() - before.getTotalAmount()).isEqualTo(4000);
+    assertThat(after.getProductQuantities().get("001") - before.getProductQuantities().getOrDefault("001", 0L))
+        .isEqualTo(1);
+  }
+
+  private Order createOrder(List<Product> products, OrderStatus orderStatus,
+      LocalDateTime registeredDateTime) {
+    return Order.builder()
+        .products(products)
+        .orderStatus(orderStatus)
+        .registeredDateTime(registeredDateTime)
+        .build();
+  }
+
+  private Product createProduct(String productNumber, int price) {
+    return Product.builder()
+        .productNumber(productNumber)
+        .type(HANDMADE)
+        .sellingStatus(SELLING)
+        .name("메뉴 이름")
+        .price(price)
+        .build();
+  }
+}
@@ -0,0 +1,234 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailySales;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDateRepository;
+import sample.cafekiosk.spring.domain.sales.HourlySales;
+import sample.cafekiosk.spring.domain.sales.HourlySalesRepository;
+
+class SalesAggregateServiceTest extends IntegrationTestSupport {
+
+  @Autowired
+  SalesAggregateService salesAggregateService;
+
+  @Autowired
+  DailySalesRepository dailySalesRepository;
+
+  @Autowired
+  HourlySalesRepository hourlySalesRepository;
+
+  @Autowired
+  DirtySalesDateRepository dirtySalesDateRepository;
+
+  @Autowired
+  OrderRepository orderRepository;
+
+  @Autowired
+  OrderProductRepository orderProductRepository;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @AfterEach
+  void tearDown() {
+    dailySalesRepository.deleteAllInBatch();
+    hourlySalesRepository.deleteAllInBatch();
+    dirtySalesDateRepository.deleteAllInBatch();
+    orderProductRepository.deleteAllInBatch();
+    orderRepository.deleteAllInBatch();
+    productRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("집계가 없는 날짜를 조회하면 그날 결제완료된 주문으로 집계를 만든다.")
+  void getDailySalesWithoutAggregate() {
+    // given
+    List<Product> products = saveProducts();
+    createOrder(LocalDateTime.of(2023, 3, 4, 23, 59, 59), OrderStatus.PAYMENT_COMPLETED, products);
+    createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), OrderStatus.PAYMENT_COMPLETED, products);
+    createOrder(LocalDateTime.of(2023, 3, 5, 10, 30), OrderStatus.PAYMENT_COMPLETED, products);
+    createOrder(LocalDateTime.of(2023, 3, 5, 13, 0), OrderStatus.INIT, products);
+
+    // when
+    DailySales dailySales = salesAggregateService.getDailySales(LocalDate.of(2023, 3, 5));
+
+    // then
+    assertThat(dailySales)
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .contains(LocalDate.of(2023, 3, 5), 2L, 17000L);
+
+    List<HourlySales> hourlySales = salesAggregateService.getHourlySales(LocalDate.of(2023, 3, 5));
+    assertThat(hourlySales).hasSize(24);
+    assertThat(hourlySales.get(10))
+        .extracting("salesHour", "orderCount", "totalAmount")
+        .contains(LocalDateTime.of(2023, 3, 5, 10, 0), 2L, 17000L);
+  }
+
+  @Test
+  @DisplayName("결제완료된 주문을 등록 일자와 시간대의 집계에 더한다.")
+  void record() {
+    // given
+    List<Product> products = saveProducts();
+    createOrder(LocalDateTime.of(2023, 3, 5, 9, 0), OrderStatus.PAYMENT_COMPLETED, products);
+    salesAggregateService.prepare(LocalDate.of(2023, 3, 5));
+    // 결제완료 처리 중인 주문은 아직 커밋되지 않았으므로 orders 에서는 결제 대기 상태로 보인다.
+    Order order = createOrder(LocalDateTime.of(2023, 3, 5, 14, 20), OrderStatus.INIT, products);
+
+    // when
+    salesAggregateService.record(order);
+
+    // then
+    // 미리 만든 집계(09시 주문 포함)에 이번 주문을 더한다.
+    assertThat(dailySalesRepository.findAll())
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .containsExactly(tuple(LocalDate.of(2023, 3, 5), 2L, 17000L));
+    assertThat(hourlySalesRepository.findAllById(List.of(
+        LocalDateTime.of(2023, 3, 5, 9, 0),
+        LocalDateTime.of(2023, 3, 5, 14, 0))))
+        .extracting("salesHour", "orderCount", "totalAmount")
+        .containsExactlyInAnyOrder(
+            tuple(LocalDateTime.of(2023, 3, 5, 9, 0), 1L, 8500L),
+            tuple(LocalDateTime.of(2023, 3, 5, 14, 0), 1L, 8500L)
+        );
+  }
+
+  @Test
+  @DisplayName("집계 행이 없는 날짜의 주문은 집계 행을 만들지 않고, 그날 집계를 조회할 때 다시 계산해서 반영한다.")
+  void recordWithoutAggregate() {
+    // given
+    List<Product> products = saveProducts();
+    Order order = createOrder(LocalDateTime.of(2023, 3, 5, 14, 20), OrderStatus.PAYMENT_COMPLETED, products);
+
+    // when
+    salesAggregateService.record(order);
+
+    // then
+    assertThat(dailySalesRepository.findById(LocalDate.of(2023, 3, 5))).isEmpty();
+    assertThat(hourlySalesRepository.findById(LocalDateTime.of(2023, 3, 5, 14, 0))).isEmpty();
+    assertThat(dirtySalesDateRepository.existsBySalesDate(LocalDate.of(2023, 3, 5))).isTrue();
+
+    assertThat(salesAggregateService.getDailySales(LocalDate.of(2023, 3, 5)))
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .contains(LocalDate.of(2023, 3, 5), 1L, 8500L);
+    assertThat(dirtySalesDateRepository.existsBySalesDate(LocalDate.of(2023, 3, 5))).isFalse();
+  }
+
+  @Test
+  @DisplayName("집계 행이 지워진 뒤 결제완료된 주문은 주기적인 재계산에서 집계에 반영된다.")
+  void rebuildDirtyDates() {
+    // given
+    List<Product> products = saveProducts();
+    createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), OrderStatus.PAYMENT_COMPLETED, products);
+    salesAggregateService.prepare(LocalDate.of(2023, 3, 5));
+    dailySalesRepository.deleteBySalesDate(LocalDate.of(2023, 3, 5));
+
+    salesAggregateService.record(
+        createOrder(LocalDateTime.of(2023, 3, 5, 11, 0), OrderStatus.PAYMENT_COMPLETED, products));
+
+    // when
+    salesAggregateService.rebuildDirtyDates();
+
+    // then
+    assertThat(dailySalesRepository.findAll())
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .containsExactly(tuple(LocalDate.of(2023, 3, 5), 2L, 17000L));
+    assertThat(hourlySalesRepository.findById(LocalDateTime.of(2023, 3, 5, 11, 0)))
+        .get()
+        .extracting("orderCount", "totalAmount")
+        .containsExactly(1L, 8500L);
+    assertThat(dirtySalesDateRepository.existsBySalesDate(LocalDate.of(2023, 3, 5))).isFalse();
+  }
+
+  @Test
+  @DisplayName("집계 행을 미리 만들 때 이미 있는 집계는 그대로 둔다.")
+  void prepare() {
+    // given
+    List<Product> products = saveProducts();
+    createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), OrderStatus.PAYMENT_COMPLETED, products);
+    salesAggregateService.prepare(LocalDate.of(2023, 3, 5));
+    salesAggregateService.record(createOrder(LocalDateTime.of(2023, 3, 5, 11, 0), OrderStatus.INIT, products));
+
+    // when
+    salesAggregateService.prepare(LocalDate.of(2023, 3, 5));
+    salesAggregateService.prepare(LocalDate.of(2023, 3, 6));
+
+    // then
+    assertThat(dailySalesRepository.findAll())
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .containsExactlyInAnyOrder(
+            tuple(LocalDate.of(2023, 3, 5), 2L, 17000L),
+            tuple(LocalDate.of(2023, 3, 6), 0L, 0L)
+        );
+    assertThat(hourlySalesRepository.count()).isEqualTo(48);
+  }
+
+  @Test
+  @DisplayName("기간 내 집계를 orders 에서 다시 계산한다.")
+  void rebuild() {
+    // given
+    List<Product> products = saveProducts();
+    createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), OrderStatus.PAYMENT_COMPLETED, products);
+    salesAggregateService.getDailySales(LocalDate.of(2023, 3, 5));
+
+    createOrder(LocalDateTime.of(2023, 3, 5, 11, 0), OrderStatus.PAYMENT_COMPLETED, products);
+    createOrder(LocalDateTime.of(2023, 3, 6, 11, 0), OrderStatus.PAYMENT_COMPLETED, products);
+
+    // when
+    salesAggregateService.rebuild(LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 6));
+
+    // then
+    assertThat(dailySalesRepository.findAll())
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .containsExactlyInAnyOrder(
+            tuple(LocalDate.of(2023, 3, 5), 2L, 17000L),
+            tuple(LocalDate.of(2023, 3, 6), 1L, 8500L)
+        );
+    assertThat(hourlySalesRepository.count()).isEqualTo(48);
+  }
+
+  private List<Product> saveProducts() {
+    return productRepository.saveAll(List.of(
+        createProduct("001", 4000),
+        createProduct("002", 4500)
+    ));
+  }
+
+  private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus,
+      List<Product> products) {
+    Order order = Order.builder()
+        .products(products)
+        .orderStatus(orderStatus)
+        .registeredDateTime(registeredDateTime)
+        .build();
+    return orderRepository.save(order);
+  }
+
+  private Product createProduct(String productNumber, int price) {
+    return Product.builder()
+        .productNumber(productNumber)
+        .type(HANDMADE)
+        .sellingStatus(SELLING)
+        .name("메뉴 이름")
+        .price(price)
+        .build();
+  }
+}
@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BAKERY;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.sales.response.SalesReportResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+class SalesReportServiceTest extends IntegrationTestSupport {
+
+  @Autowired
+  SalesReportService salesReportService;
+
+  @Autowired
+  OrderRepository orderRepository;
+
+  @Autowired
+  OrderProductRepository orderProductRepository;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @AfterEach
+  void tearDown() {
+    orderProductRepository.deleteAllInBatch();
+    orderRepository.deleteAllInBatch();
+    productRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("기간 내 결제완료 주문을 일자별, 상품 타입별, 상품별로 집계한다.")
+  void getSalesReport() {
+    // given
+    Product americano = createProduct("001", HANDMADE, 4000);
+    Product coke = createProduct("002", BOTTLE, 1500);
+    Product croissant = createProduct("003", BAKERY, 3500);
+    productRepository.saveAll(List.of(americano, coke, croissant));
+
+    createOrder(List.of(americano, coke), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 1, 9, 0));
+    createOrder(List.of(americano), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 1, 23, 59, 59));
+    createOrder(List.of(croissant, croissant), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 3, 8, 0));
+    createOrder(List.of(americano), OrderStatus.CANCELED, LocalDateTime.of(2023, 3, 2, 10, 0));
+    createOrder(List.of(americano), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 4, 0, 0));
+
+    // when
+    SalesReportResponse report = salesReportService.getSalesReport(
+        LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 3));
+
+    // then
+    assertThat(report)
+        .extracting("orderCount", "totalAmount", "averageAmount")
+        .contains(3L, 16500L, 5500L);
+    assertThat(report.getDailySales())
+        .extracting("salesDate", "orderCount", "totalAmount")
+        .containsExactly(
+            tuple(LocalDate.of(2023, 3, 1), 2L, 9500L),
+            tuple(LocalDate.of(2023, 3, 2), 0L, 0L),
+            tuple(LocalDate.of(2023, 3, 3), 1L, 7000L)
+        );
+    assertThat(report.getProductTypeAmounts())
+        .containsExactly(
+            entry(HANDMADE, 8000L),
+            entry(BOTTLE, 1500L),
+            entry(BAKERY, 7000L)
+        );
+    assertThat(report.getProductSales())
+        .extracting("productNumber", "quantity", "totalAmount")
+        .containsExactly(
+            tuple("001", 2L, 8000L),
+            tuple("003", 2L, 7000L),
+            tuple("002", 1L, 1500L)
+        );
+  }
+
+  @Test
+  @DisplayName("조회 종료일이 시작일보다 빠르면 보고서를 만들 수 없다.")
+  void getSalesReportWithReversedRange() {
+    // when // then
+    assertThatThrownBy(() -> salesReportService.getSalesReport(
+        LocalDate.of(2023, 3, 3), LocalDate.of(2023, 3, 1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("조회 종료일은 시작일보다 빠를 수 없습니다.");
+  }
+
+  @Test
+  @DisplayName("최대 조회 기간을 넘는 보고서는 만들 수 없다.")
+  void getSalesReportWithTooLongRange() {
+    // when // then
+    assertThatThrownBy(() -> salesReportService.getSalesReport(
+        LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("조회 기간은 최대 366일입니다.");
+  }
+
+  private void createOrder(List<Product> products, OrderStatus orderStatus,
+      LocalDateTime registeredDateTime) {
+    orderRepository.save(Order.builder()
+        .products(products)
+        .orderStatus(orderStatus)
+        .registeredDateTime(registeredDateTime)
+        .build());
+  }
+
+  private Product createProduct(String productNumber, ProductType type, int price) {
+    return Product.builder()
+        .productNumber(productNumber)
+        .type(type)
+        .sellingStatus(SELLING)
+        .name("메뉴 이름")
+        .price(price)
+        .build();
+  }
+}
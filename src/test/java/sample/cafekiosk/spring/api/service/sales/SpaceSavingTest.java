@@ -0,0 +1,126 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.sales.SpaceSaving.Estimate;
+
+class SpaceSavingTest {
+
+  @Test
+  @DisplayName("추적하는 항목 수가 capacity 이하이면 오차 없이 센다.")
+  void topWithinCapacity() {
+    // given
+    SpaceSaving summary = new SpaceSaving(3);
+    summary.add("001", 2);
+    summary.add("002", 5);
+    summary.add("001", 1);
+
+    // when
+    List<Estimate> top = summary.top(10);
+
+    // then
+    assertThat(top)
+        .extracting("item", "count", "error")
+        .containsExactly(
+            tuple("002", 5L, 0L),
+            tuple("001", 3L, 0L)
+        );
+  }
+
+  @Test
+  @DisplayName("카운터가 다 차면 가장 작은 카운터를 넘겨받고, 넘겨받은 값을 오차로 남긴다.")
+  void addOverCapacity() {
+    // given
+    SpaceSaving summary = new SpaceSaving(2);
+    summary.add("001", 10);
+    summary.add("002", 3);
+
+    // when
+    summary.add("003", 1);
+
+    // then
+    assertThat(summary.size()).isEqualTo(2);
+    assertThat(summary.top(10))
+        .extracting("item", "count", "error")
+        .containsExactly(
+            tuple("001", 10L, 0L),
+            tuple("003", 4L, 3L)
+        );
+    assertThat(summary.top(10).get(1).guaranteedCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("자주 나오는 항목은 드문 항목이 많이 섞여도 상위에 남고 실제 횟수가 오차 범위 안에 있다.")
+  void heavyHitters() {
+    // given
+    SpaceSaving summary = new SpaceSaving(10);
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      summary.add("hot", 1);
+      summary.add("rare-" + i, 1);
+      if (i % 2 == 0) {
+        summary.add("warm", 1);
+      }
+    }
+
+    // then
+    List<Estimate> top = summary.top(2);
+    assertThat(top).extracting("item").containsExactly("hot", "warm");
+    assertThat(top.get(0).guaranteedCount()).isLessThanOrEqualTo(1000);
+    assertThat(top.get(0).count()).isGreaterThanOrEqualTo(1000);
+    assertThat(top.get(1).guaranteedCount()).isLessThanOrEqualTo(500);
+    assertThat(top.get(1).count()).isGreaterThanOrEqualTo(500);
+  }
+
+  @Test
+  @DisplayName("여러 요약을 합치면 항목별 추정치와 오차를 더한다.")
+  void merge() {
+    // given
+    SpaceSaving first = new SpaceSaving(2);
+    first.add("001", 4);
+    first.add("002", 2);
+
+    SpaceSaving second = new SpaceSaving(2);
+    second.add("001", 1);
+
+    // when
+    List<Estimate> merged = SpaceSaving.merge(List.of(first, second), 10);
+
+    // then
+    assertThat(merged)
+        .extracting("item", "count", "error")
+        .containsExactly(
+            tuple("001", 5L, 0L),
+            tuple("002", 2L, 0L)
+        );
+  }
+
+  @Test
+  @DisplayName("가득 찬 요약에 없는 항목은 그 요약의 최소 카운터만큼 나왔을 수 있어서 추정치와 오차에 더한다.")
+  void mergeWithFullSummary() {
+    // given
+    SpaceSaving first = new SpaceSaving(2);
+    first.add("001", 4);
+    first.add("002", 2);
+
+    SpaceSaving second = new SpaceSaving(2);
+    second.add("003", 3);
+
+    // when
+    List<Estimate> merged = SpaceSaving.merge(List.of(first, second), 10);
+
+    // then
+    assertThat(merged)
+        .extracting("item", "count", "error")
+        .containsExactly(
+            tuple("003", 5L, 2L),
+            tuple("001", 4L, 0L),
+            tuple("002", 2L, 0L)
+        );
+  }
+}
@@ -0,0 +1,113 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductQuantityMapTest {
+
+  @Test
+  @DisplayName("같은 dense id 로 추가한 수량은 합산된다.")
+  void add() {
+    // given
+    ProductQuantityMap quantities = new ProductQuantityMap(2);
+
+    // when
+    quantities.add(0, "001", 1);
+    quantities.add(1, "002", 1);
+    quantities.add(0, "001", 2);
+
+    // then
+    assertThat(quantities.size()).isEqualTo(2);
+    assertThat(quantities.get(0)).isEqualTo(3);
+    assertThat(quantities.get(1)).isEqualTo(1);
+    assertThat(quantities.get(2)).isZero();
+    assertThat(toMap(quantities)).containsOnly(entry("001", 3), entry("002", 1));
+  }
+
+  @Test
+  @DisplayName("예상 크기보다 많은 상품을 추가해도 수량을 잃지 않는다.")
+  void addMoreThanExpectedSize() {
+    // given
+    ProductQuantityMap quantities = new ProductQuantityMap(2);
+
+    // when
+    for (int denseId = 0; denseId < 1000; denseId++) {
+      quantities.add(denseId, String.format("%03d", denseId + 1), denseId);
+    }
+
+    // then
+    assertThat(quantities.size()).isEqualTo(1000);
+    assertThat(quantities.get(999)).isEqualTo(999);
+    assertThat(toMap(quantities)).hasSize(1000).containsEntry("500", 499);
+  }
+
+  @Test
+  @DisplayName("모든 상품이 조건을 만족하는지 확인한다.")
+  void allMatch() {
+    // given
+    ProductQuantityMap quantities = new ProductQuantityMap(2);
+    quantities.add(0, "001", 1);
+    quantities.add(1, "002", 3);
+
+    // when
+    // then
+    assertThat(quantities.allMatch((denseId, productNumber, quantity) -> quantity <= 3)).isTrue();
+    assertThat(quantities.allMatch((denseId, productNumber, quantity) -> quantity <= 2)).isFalse();
+  }
+
+  @Test
+  @DisplayName("조건을 만족하지 않는 상품 앞까지 만족한 상품 수를 세고, 그 상품들만 다시 꺼낼 수 있다.")
+  void countWhile() {
+    // given
+    ProductQuantityMap quantities = new ProductQuantityMap(4);
+    for (int denseId = 0; denseId < 4; denseId++) {
+      quantities.add(denseId, String.format("%03d", denseId + 1), denseId + 1);
+    }
+    List<Integer> visited = new ArrayList<>();
+
+    // when
+    int count = quantities.countWhile((denseId, productNumber, quantity) -> {
+      visited.add(denseId);
+      return quantity != 3;
+    });
+    List<Integer> matched = new ArrayList<>();
+    quantities.forEachFirst(count, (denseId, productNumber, quantity) -> matched.add(denseId));
+
+    // then
+    assertThat(count).isEqualTo(visited.size() - 1);
+    assertThat(matched).containsExactlyElementsOf(visited.subList(0, count));
+    assertThat(matched).doesNotContain(2);
+  }
+
+  @Test
+  @DisplayName("상품번호 순으로 꺼낼 수 있다.")
+  void forEachInProductNumberOrder() {
+    // given
+    ProductQuantityMap quantities = new ProductQuantityMap(4);
+    quantities.add(7, "004", 1);
+    quantities.add(1, "002", 1);
+    quantities.add(30, "001", 1);
+    quantities.add(2, "003", 1);
+
+    // when
+    List<String> productNumbers = new ArrayList<>();
+    quantities.forEachInProductNumberOrder(
+        (denseId, productNumber, quantity) -> productNumbers.add(productNumber));
+
+    // then
+    assertThat(productNumbers).containsExactly("001", "002", "003", "004");
+  }
+
+  private static Map<String, Integer> toMap(ProductQuantityMap quantities) {
+    Map<String, Integer> map = new HashMap<>();
+    quantities.forEach((denseId, productNumber, quantity) -> map.put(productNumber, quantity));
+    return map;
+  }
+}
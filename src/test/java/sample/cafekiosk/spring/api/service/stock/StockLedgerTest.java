@@ -0,0 +1,179 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.api.service.product.ProductCatalog;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+  @Mock
+  StockRepository stockRepository;
+
+  @Mock
+  ProductRepository productRepository;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  ProductCatalog productCatalog;
+
+  StockLedger stockLedger;
+
+  @BeforeEach
+  void setUp() {
+    productCatalog = new ProductCatalog(productRepository, 100, Duration.ofHours(1), new SimpleMeterRegistry());
+    stockLedger = new StockLedger(stockRepository, productCatalog, transactionManager);
+  }
+
+  @Test
+  @DisplayName("재고 테이블로 원장을 적재하고 재고를 예약한다.")
+  void reserve() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+    stockLedger.rebuild();
+
+    // when
+    stockLedger.reserve(quantitiesOf(Map.of("001", 2, "002", 1)));
+
+    // then
+    assertThat(stockLedger.getAvailableQuantity("001")).isZero();
+    assertThat(stockLedger.getAvailableQuantity("002")).isZero();
+  }
+
+  @Test
+  @DisplayName("재고가 부족한 상품이 하나라도 있으면 예외가 발생하고 앞서 예약한 재고는 되돌린다.")
+  void reserveWithNoStock() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+    stockLedger.rebuild();
+
+    // when
+    // then
+    assertThatThrownBy(() -> stockLedger.reserve(quantitiesOf(Map.of("001", 1, "002", 2))))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("재고가 부족한 상품이 있습니다.");
+
+    assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(2);
+    assertThat(stockLedger.getAvailableQuantity("002")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("예외 없이 예약을 시도하면 재고가 부족할 때 false 를 반환하고 앞서 예약한 재고는 되돌린다.")
+  void tryReserve() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+    stockLedger.rebuild();
+
+    // when
+    boolean first = stockLedger.tryReserve(quantitiesOf(Map.of("001", 1, "002", 1)));
+    boolean second = stockLedger.tryReserve(quantitiesOf(Map.of("001", 1, "002", 1)));
+
+    // then
+    assertThat(first).isTrue();
+    assertThat(second).isFalse();
+    assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(1);
+    assertThat(stockLedger.getAvailableQuantity("002")).isZero();
+  }
+
+  @Test
+  @DisplayName("예약된 차감분은 flush 시 상품별로 합쳐서 재고 테이블에 반영한다.")
+  void flush() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of(Stock.create("001", 5)));
+    stockLedger.rebuild();
+
+    stockLedger.reserve(quantitiesOf(Map.of("001", 1)));
+    stockLedger.reserve(quantitiesOf(Map.of("001", 2)));
+
+    // when
+    stockLedger.flush();
+    stockLedger.flush();
+
+    // then
+    verify(stockRepository, times(1)).subtractQuantity("001", 3);
+  }
+
+  @Test
+  @DisplayName("원장을 다시 적재해도 flush 되지 않은 차감분과 예약된 재고는 유지된다.")
+  void rebuildKeepsPendingQuantities() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of(Stock.create("001", 5)));
+    stockLedger.rebuild();
+    stockLedger.reserve(quantitiesOf(Map.of("001", 2)));
+
+    // when
+    stockLedger.rebuild();
+    stockLedger.flush();
+
+    // then
+    assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(3);
+    verify(stockRepository, times(1)).subtractQuantity("001", 2);
+  }
+
+  @Test
+  @DisplayName("원장 적재 이후에 생성된 재고는 처음 조회할 때 한 번만 읽어온다.")
+  void loadMissingCounter() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of());
+    given(stockRepository.findAllByProductNumberIn(List.of("001")))
+        .willReturn(List.of(Stock.create("001", 3)));
+    stockLedger.rebuild();
+
+    // when
+    stockLedger.reserve(quantitiesOf(Map.of("001", 1)));
+
+    // then
+    assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(2);
+    verify(stockRepository, times(1)).findAllByProductNumberIn(List.of("001"));
+  }
+
+  @Test
+  @DisplayName("예약된 차감분이 없으면 재고 테이블을 갱신하지 않는다.")
+  void flushWithoutReservation() {
+    // given
+    given(stockRepository.findAll())
+        .willReturn(List.of(Stock.create("001", 5)));
+    stockLedger.rebuild();
+
+    // when
+    stockLedger.flush();
+
+    // then
+    verify(stockRepository, never()).subtractQuantity(anyString(), anyInt());
+  }
+
+  private ProductQuantityMap quantitiesOf(Map<String, Integer> quantities) {
+    ProductQuantityMap quantityMap = new ProductQuantityMap(quantities.size());
+    quantities.forEach((productNumber, quantity) ->
+        quantityMap.add(productCatalog.getDenseId(productNumber), productNumber, quantity));
+    return quantityMap;
+  }
+}
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.restdocs.payload.JsonFieldType;
 import sample.cafekiosk.spring.api.controller.product.ProductController;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
@@ -31,9 +32,11 @@ public class ProductControllerDocsTest extends RestDocsSupport {
 
   private final ProductService productService = mock(ProductService.class);
 
+  private final ProductImportService productImportService = mock(ProductImportService.class);
+
   @Override
   protected Object initController() {
-    return new ProductController(productService);
+    return new ProductController(productService, productImportService);
   }
 
   @Test
@@ -0,0 +1,276 @@
+package sample.cafekiosk.spring.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.INIT;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderProduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DirtySalesDateRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 리포지토리 쿼리들이 인덱스를 타는지 H2 EXPLAIN 으로 확인한다.
+ * <p>
+ * 데이터를 충분히 넣고 통계를 갱신한 뒤, 각 리포지토리 메서드를 실제로 실행하면서 Hibernate 가 만든 SQL 을
+ * {@link StatementInspector} 로 가로채고, 그 SQL 을 그대로 EXPLAIN 해서 실행 계획에 tableScan 이 있으면 실패한다.
+ * 바인딩 파라미터(?)는 그대로 두고 EXPLAIN 한다. 리포지토리 메서드는 롤백되는 트랜잭션 안에서 실행하므로 데이터는 바뀌지 않는다.
+ * 상품번호 발급 위치를 처음 만들 때만 쓰는 findMaxProductNumber 는 대상에서 뺀다.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest extends IntegrationTestSupport {
+
+  private static final int PRODUCT_COUNT = 10_000;
+  private static final int ORDER_COUNT = 20_000;
+  private static final int MAIL_OUTBOX_COUNT = 20_000;
+  private static final int DIRTY_SALES_DATE_COUNT = 1_000;
+  private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2023, 3, 1, 0, 0);
+  private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2023, 3, 5, 0, 0);
+  private static final LocalDateTime END_DATE_TIME = LocalDateTime.of(2023, 3, 6, 0, 0);
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  OrderRepository orderRepository;
+
+  @Autowired
+  OrderProductRepository orderProductRepository;
+
+  @Autowired
+  OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+  @Autowired
+  ProductNumberSequenceRepository productNumberSequenceRepository;
+
+  @Autowired
+  MailOutboxRepository mailOutboxRepository;
+
+  @Autowired
+  DirtySalesDateRepository dirtySalesDateRepository;
+
+  @BeforeAll
+  void seed() {
+    List<Object[]> products = new ArrayList<>();
+    List<Object[]> stocks = new ArrayList<>();
+    for (int i = 1; i <= PRODUCT_COUNT; i++) {
+      String productNumber = String.format("%05d", i);
+      // 대부분은 판매 중지 상품이다.
+      String sellingStatus = i % 20 == 0 ? "SELLING" : i % 20 == 1 ? "HOLD" : "STOP_SELLING";
+      products.add(new Object[]{i, productNumber, "BOTTLE", sellingStatus, "메뉴 이름", 1000});
+      stocks.add(new Object[]{i, productNumber, 100});
+    }
+    jdbcTemplate.batchUpdate("insert into product(id, product_number, type, selling_status, name, price) "
+        + "values (?, ?, ?, ?, ?, ?)", products);
+    jdbcTemplate.batchUpdate("insert into stock(id, product_number, quantity) values (?, ?, ?)", stocks);
+
+    List<Object[]> orders = new ArrayList<>();
+    List<Object[]> orderProducts = new ArrayList<>();
+    List<Object[]> idempotencyKeys = new ArrayList<>();
+    for (int i = 1; i <= ORDER_COUNT; i++) {
+      String orderStatus = i % 10 == 0 ? "INIT" : i % 10 == 1 ? "CANCELED" : "PAYMENT_COMPLETED";
+      orders.add(new Object[]{i, orderStatus, 1000,
+          Timestamp.valueOf(BASE_DATE_TIME.plusMinutes(i * 7L))});
+      orderProducts.add(new Object[]{i, i, i % PRODUCT_COUNT + 1, 1, 1000});
+      idempotencyKeys.add(new Object[]{i, "key-" + i, i});
+    }
+    jdbcTemplate.batchUpdate("insert into orders(id, order_status, total_price, registered_date_time) "
+        + "values (?, ?, ?, ?)", orders);
+    jdbcTemplate.batchUpdate("insert into order_product(id, order_id, product_id, quantity, price) "
+        + "values (?, ?, ?, ?, ?)", orderProducts);
+    jdbcTemplate.batchUpdate("insert into order_idempotency_key(id, idempotency_key, order_id) "
+        + "values (?, ?, ?)", idempotencyKeys);
+    jdbcTemplate.update("insert into product_number_sequence(name, next_value) values ('product_number', 1)");
+
+    List<Object[]> mailOutboxes = new ArrayList<>();
+    for (int i = 1; i <= MAIL_OUTBOX_COUNT; i++) {
+      // 대부분은 이미 전송된 메일이다.
+      String status = i % 100 == 0 ? "PENDING" : i % 100 == 1 ? "SENDING" : "SENT";
+      mailOutboxes.add(new Object[]{i, "from@test.com", "to@test.com", "제목", "내용", status, 1,
+          Timestamp.valueOf(BASE_DATE_TIME.plusMinutes(i))});
+    }
+    jdbcTemplate.batchUpdate("insert into mail_outbox(id, from_email, to_email, subject, content, status, "
+        + "attempt_count, next_attempt_date_time) values (?, ?, ?, ?, ?, ?, ?, ?)", mailOutboxes);
+
+    List<Object[]> dirtySalesDates = new ArrayList<>();
+    for (int i = 1; i <= DIRTY_SALES_DATE_COUNT; i++) {
+      dirtySalesDates.add(new Object[]{i, Date.valueOf(BASE_DATE_TIME.toLocalDate().minusDays(i))});
+    }
+    jdbcTemplate.batchUpdate("insert into dirty_sales_date(id, sales_date) values (?, ?)", dirtySalesDates);
+
+    // 데이터 분포를 반영하도록 통계를 갱신한다.
+    jdbcTemplate.execute("analyze");
+  }
+
+  @AfterAll
+  void tearDown() {
+    jdbcTemplate.update("delete from dirty_sales_date");
+    jdbcTemplate.update("delete from mail_outbox");
+    jdbcTemplate.update("delete from product_number_sequence");
+    jdbcTemplate.update("delete from order_idempotency_key");
+    jdbcTemplate.update("delete from order_product");
+    jdbcTemplate.update("delete from orders");
+    jdbcTemplate.update("delete from stock");
+    jdbcTemplate.update("delete from product");
+  }
+
+  @DisplayName("리포지토리 쿼리는 테이블 전체를 읽지 않는다.")
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("repositoryQueries")
+  void explain(String repositoryMethod, Runnable repositoryCall) {
+    // when
+    List<String> statements = captureStatements(repositoryCall);
+
+    // then
+    assertThat(statements).as("%s 가 실행한 SQL", repositoryMethod).isNotEmpty();
+    for (String sql : statements) {
+      String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+      assertThat(plan)
+          .as("%s 실행 계획%n%s", repositoryMethod, plan)
+          .doesNotContainIgnoringCase("tableScan");
+    }
+  }
+
+  Stream<Arguments> repositoryQueries() {
+    return Stream.of(
+        Arguments.of("ProductRepository.findAllBySellingStatusIn", (Runnable) () ->
+            productRepository.findAllBySellingStatusIn(List.of(SELLING, HOLD))),
+        Arguments.of("ProductRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc", (Runnable) () ->
+            productRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+                List.of(SELLING, HOLD), 5000L, Limit.of(21))),
+        Arguments.of("ProductRepository.streamAllBySellingStatusIn", (Runnable) () -> {
+          try (Stream<?> products = productRepository.streamAllBySellingStatusIn(List.of(SELLING, HOLD))) {
+            products.findFirst();
+          }
+        }),
+        Arguments.of("ProductRepository.findAllByProductNumberIn", (Runnable) () ->
+            productRepository.findAllByProductNumberIn(List.of("00001", "00002", "00003"))),
+        Arguments.of("ProductRepository.findByProductNumber", (Runnable) () ->
+            productRepository.findByProductNumber("00001")),
+        Arguments.of("StockRepository.findAllByProductNumberIn", (Runnable) () ->
+            stockRepository.findAllByProductNumberIn(List.of("00001", "00002", "00003"))),
+        Arguments.of("StockRepository.findAllForUpdateByProductNumberIn", (Runnable) () ->
+            stockRepository.findAllForUpdateByProductNumberIn(List.of("00001", "00002", "00003"))),
+        Arguments.of("StockRepository.deductQuantity", (Runnable) () ->
+            stockRepository.deductQuantity("00001", 1)),
+        Arguments.of("StockRepository.subtractQuantity", (Runnable) () ->
+            stockRepository.subtractQuantity("00001", 1)),
+        Arguments.of("StockRepository.addQuantity", (Runnable) () ->
+            stockRepository.addQuantity("00001", 1)),
+        Arguments.of("OrderRepository.findOrdersBy", (Runnable) () ->
+            orderRepository.findOrdersBy(START_DATE_TIME, END_DATE_TIME, PAYMENT_COMPLETED)),
+        Arguments.of("OrderRepository.findSalesBy", (Runnable) () ->
+            orderRepository.findSalesBy(START_DATE_TIME, END_DATE_TIME, PAYMENT_COMPLETED)),
+        Arguments.of("OrderRepository.findHourlySalesBy", (Runnable) () ->
+            orderRepository.findHourlySalesBy(START_DATE_TIME, END_DATE_TIME, PAYMENT_COMPLETED)),
+        Arguments.of("OrderRepository.findAllForUpdateByIdIn", (Runnable) () ->
+            orderRepository.findAllForUpdateByIdIn(List.of(1L, 2L, 3L))),
+        Arguments.of("OrderRepository.findIdsByOrderStatus", (Runnable) () ->
+            orderRepository.findIdsByOrderStatus(INIT)),
+        Arguments.of("OrderProductRepository.findProductSalesBy", (Runnable) () ->
+            orderProductRepository.findProductSalesBy(START_DATE_TIME, END_DATE_TIME, PAYMENT_COMPLETED)),
+        Arguments.of("OrderProductRepository.streamProductSalesBy", (Runnable) () -> {
+          try (Stream<?> productSales = orderProductRepository.streamProductSalesBy(
+              START_DATE_TIME, END_DATE_TIME, PAYMENT_COMPLETED)) {
+            productSales.findFirst();
+          }
+        }),
+        Arguments.of("OrderIdempotencyKeyRepository.findByIdempotencyKey", (Runnable) () ->
+            orderIdempotencyKeyRepository.findByIdempotencyKey("key-1")),
+        Arguments.of("ProductNumberSequenceRepository.findWithLockByName", (Runnable) () ->
+            productNumberSequenceRepository.findWithLockByName("product_number")),
+        Arguments.of("MailOutboxRepository.findAllForClaimBy", (Runnable) () ->
+            mailOutboxRepository.findAllForClaimBy(START_DATE_TIME, PageRequest.of(0, 50))),
+        Arguments.of("DirtySalesDateRepository.existsBySalesDate", (Runnable) () ->
+            dirtySalesDateRepository.existsBySalesDate(START_DATE_TIME.toLocalDate())),
+        Arguments.of("DirtySalesDateRepository.deleteBySalesDate", (Runnable) () ->
+            dirtySalesDateRepository.deleteBySalesDate(START_DATE_TIME.toLocalDate()))
+    );
+  }
+
+  // 리포지토리 메서드를 롤백되는 트랜잭션 안에서 실행하고, 그동안 Hibernate 가 실행한 SQL 을 모은다.
+  private List<String> captureStatements(Runnable repositoryCall) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    return transactionTemplate.execute(status -> {
+      status.setRollbackOnly();
+      return SqlCaptor.capture(repositoryCall);
+    });
+  }
+
+  @TestConfiguration
+  static class SqlCaptorConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer sqlCaptorCustomizer() {
+      return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCaptor());
+    }
+  }
+
+  /**
+   * 캡처 중인 스레드에서 실행된 SQL 만 모은다. 스케줄러 같은 다른 스레드의 SQL 은 섞이지 않는다.
+   */
+  static class SqlCaptor implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    static List<String> capture(Runnable action) {
+      List<String> statements = new ArrayList<>();
+      CAPTURED.set(statements);
+      try {
+        action.run();
+      } finally {
+        CAPTURED.remove();
+      }
+      return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+      List<String> statements = CAPTURED.get();
+      if (statements != null) {
+        statements.add(sql);
+      }
+      return sql;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package sample.cafekiosk.spring.domain.order;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static sample.cafekiosk.spring.domain.order.OrderStatus.INIT;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
@@ -56,6 +57,54 @@ class OrderRepositoryTest extends IntegrationTestSupport {
 
   }
 
+  @Test
+  @DisplayName("기간 내 결제가 완료된 주문의 수와 매출 합계를 집계한다.")
+  void findSalesBy() {
+    // given
+    Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+    Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+    productRepository.saveAll(List.of(product1, product2));
+
+    LocalDateTime startDateTime = LocalDateTime.of(2023, 3, 5, 0, 0);
+    orderRepository.saveAll(List.of(
+        createOrder(List.of(product1), PAYMENT_COMPLETED, startDateTime),
+        createOrder(List.of(product1, product2), PAYMENT_COMPLETED, startDateTime.plusHours(10)),
+        createOrder(List.of(product2), INIT, startDateTime.plusHours(11)),
+        createOrder(List.of(product2), PAYMENT_COMPLETED, startDateTime.plusDays(1))
+    ));
+
+    // when
+    OrderSales orderSales = orderRepository.findSalesBy(startDateTime, startDateTime.plusDays(1),
+        PAYMENT_COMPLETED);
+
+    // then
+    assertThat(orderSales)
+        .extracting("orderCount", "totalAmount")
+        .contains(2L, 12500L);
+  }
+
+  @Test
+  @DisplayName("기간 내 주문이 없으면 주문 수와 매출 합계는 0이다.")
+  void findSalesByWithoutOrders() {
+    // when
+    OrderSales orderSales = orderRepository.findSalesBy(LocalDateTime.of(2023, 3, 5, 0, 0),
+        LocalDateTime.of(2023, 3, 6, 0, 0), PAYMENT_COMPLETED);
+
+    // then
+    assertThat(orderSales)
+        .extracting("orderCount", "totalAmount")
+        .contains(0L, 0L);
+  }
+
+  private static Order createOrder(List<Product> products, OrderStatus orderStatus,
+      LocalDateTime registeredDateTime) {
+    return Order.builder()
+        .products(products)
+        .orderStatus(orderStatus)
+        .registeredDateTime(registeredDateTime)
+        .build();
+  }
+
   private static Product createProduct(
       String productNumber,
       ProductType type,
@@ -1,6 +1,7 @@
 package sample.cafekiosk.spring.domain.order;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
@@ -66,6 +67,29 @@ class OrderTest {
 
   }
 
+  @Test
+  @DisplayName("주문 생성 시 같은 상품은 하나의 주문상품으로 합치고 수량과 단가를 기록한다.")
+  void createOrderProductsWithQuantity() {
+    // given
+    List<Product> products = List.of(
+        createProduct("001", 1000),
+        createProduct("001", 1000),
+        createProduct("002", 2000)
+    );
+
+    // when
+    Order order = Order.create(products, LocalDateTime.now());
+
+    // then
+    assertThat(order.getTotalPrice()).isEqualTo(4000);
+    assertThat(order.getOrderProducts()).hasSize(2)
+        .extracting("price", "quantity", "totalPrice")
+        .containsExactly(
+            tuple(1000, 2, 2000),
+            tuple(2000, 1, 2000)
+        );
+  }
+
   private Product createProduct(String productNumber, int price) {
     return Product.builder()
         .productNumber(productNumber)
@@ -8,6 +8,7 @@ import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_S
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -71,33 +72,39 @@ class ProductRepositoryTest extends IntegrationTestSupport {
   }
 
   @Test
-  @DisplayName("가장 마지막으로 저장한 상품의 상품번호를 읽어온다.")
-  void findLatestProductNumber() {
+  @DisplayName("상품번호로 상품을 조회한다.")
+  void findByProductNumber() {
     // given
-    String targetProductNumber = "003";
-
     Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
     Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
-    Product product3 = createProduct(targetProductNumber, HANDMADE, STOP_SELLING, "팥빙수", 7000);
 
-    productRepository.saveAll(List.of(product1, product2, product3));
+    productRepository.saveAll(List.of(product1, product2));
 
     // when
-    String latestProductNumber = productRepository.findLatestProductNumber();
+    Optional<Product> product = productRepository.findByProductNumber("002");
 
     // then
-    assertThat(latestProductNumber).isEqualTo(targetProductNumber);
+    assertThat(product).isPresent().get()
+        .extracting("productNumber", "name", "sellingStatus")
+        .containsExactly("002", "카페라떼", HOLD);
+    assertThat(productRepository.findByProductNumber("999")).isEmpty();
   }
 
   @Test
-  @DisplayName("가장 마지막으로 저장한 상품의 상품번호를 읽어올 때, 상품이 하나도 없는 경우에는 null을 반환한다.")
-  void findLatestProductNumberWhenProductIsEmpty() {
+  @DisplayName("상품번호의 최댓값을 숫자로 비교해서 읽어온다.")
+  void findMaxProductNumber() {
     // given
+    Product product1 = createProduct("999", HANDMADE, SELLING, "아메리카노", 4000);
+    Product product2 = createProduct("1000", HANDMADE, HOLD, "카페라떼", 4500);
+    Product product3 = createProduct("002", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+
+    productRepository.saveAll(List.of(product1, product2, product3));
+
     // when
-    String latestProductNumber = productRepository.findLatestProductNumber();
+    Integer maxProductNumber = productRepository.findMaxProductNumber();
 
     // then
-    assertThat(latestProductNumber).isNull();
+    assertThat(maxProductNumber).isEqualTo(1000);
   }
 
   private static Product createProduct(
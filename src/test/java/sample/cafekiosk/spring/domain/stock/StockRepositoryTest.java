@@ -40,4 +40,55 @@ class StockRepositoryTest extends IntegrationTestSupport {
         );
 
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("상품번호 리스트로 재고를 잠그고 상품번호 순으로 조회한다.")
+  void findAllForUpdateByProductNumberIn() {
+    // given
+    Stock stock = Stock.create("003", 3);
+    Stock stock2 = Stock.create("001", 1);
+    Stock stock3 = Stock.create("002", 2);
+    stockRepository.saveAll(List.of(stock, stock2, stock3));
+
+    // when
+    List<Stock> stocks = stockRepository.findAllForUpdateByProductNumberIn(List.of("003", "001"));
+
+    // then
+    assertThat(stocks)
+        .extracting("productNumber", "quantity")
+        .containsExactly(
+            tuple("001", 1),
+            tuple("003", 3)
+        );
+  }
+
+  @Test
+  @DisplayName("재고가 충분하면 조건부 UPDATE 로 재고를 차감한다.")
+  void deductQuantity() {
+    // given
+    Stock stock = Stock.create("001", 2);
+    stockRepository.save(stock);
+
+    // when
+    int firstUpdatedCount = stockRepository.deductQuantity("001", 2);
+    int secondUpdatedCount = stockRepository.deductQuantity("001", 1);
+
+    // then
+    assertThat(firstUpdatedCount).isEqualTo(1);
+    assertThat(secondUpdatedCount).isZero();
+  }
+
+  @Test
+  @DisplayName("재고보다 많은 수량으로 차감하면 아무 row 도 갱신하지 않는다.")
+  void deductQuantityWhenQuantityIsLessThan() {
+    // given
+    Stock stock = Stock.create("001", 1);
+    stockRepository.save(stock);
+
+    // when
+    int updatedCount = stockRepository.deductQuantity("001", 2);
+
+    // then
+    assertThat(updatedCount).isZero();
+  }
+}